@@ -1,52 +1,76 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.client.ClientResilience;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerBalancer;
+import ru.practicum.shareit.client.WireFormat;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(RestTemplateBuilder builder, HttpComponentsClientHttpRequestFactory requestFactory,
+                         ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                         ServerBalancer serverBalancer, ClientResilience clientResilience,
+                         WireFormat wireFormat) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                serverBalancer,
+                clientResilience,
+                wireFormat
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              String cursor, BookingView view) {
+        Map<String, Object> parameters = pageParameters(from, size, cursor);
+        parameters.put("state", state.name());
+        parameters.put("view", view.toParameter());
+        return get(pagePath("?state={state}&view={view}", parameters), userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByItemOwnerId(long userId, BookingState state, Integer from, Integer size) {
+    public ResponseEntity<Object> getBookingsByItemOwnerId(long userId, BookingState state, Integer from, Integer size,
+                                                           BookingView view) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
-                "size", size
+                "size", size,
+                "view", view.toParameter()
         );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        return get("/owner?state={state}&from={from}&size={size}&view={view}", userId, parameters);
     }
 
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
-        return post("", userId, requestDto);
+        ResponseEntity<Object> response = post("", userId, requestDto);
+        invalidateRoute(ResponseCache.ITEM);
+        return response;
+    }
+
+    public ResponseEntity<Object> bookItems(long userId, List<BookItemRequestDto> requestDtos) {
+        ResponseEntity<Object> response = post("/batch", userId, requestDtos);
+        invalidateRoute(ResponseCache.ITEM);
+        return response;
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
@@ -57,10 +81,13 @@ public class BookingClient extends BaseClient {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters);
+        ResponseEntity<Object> response = patch("/" + bookingId + "?approved={approved}", userId, parameters);
+        invalidateRoute(ResponseCache.ITEM);
+        return response;
     }
 
     public void deleteById(long bookingId) {
         delete("/" + bookingId);
+        invalidateRoute(ResponseCache.ITEM);
     }
 }
@@ -2,23 +2,33 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.exception.IncorrectParameterException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class BookingController {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final BookingClient bookingClient;
 
     @GetMapping
@@ -28,11 +38,17 @@ public class BookingController {
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0")
                                               Integer from,
                                               @Positive @RequestParam(name = "size", defaultValue = "10")
-                                              Integer size) {
+                                              Integer size,
+                                              @RequestParam(name = "cursor", required = false)
+                                              String cursor,
+                                              @RequestParam(name = "view", defaultValue = "compact")
+                                              String viewParam) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        BookingView view = BookingView.from(viewParam)
+                .orElseThrow(() -> new IncorrectParameterException("Unknown view: " + viewParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        return bookingClient.getBookings(userId, state, from, size, cursor, view);
     }
 
     @GetMapping("/owner")
@@ -43,11 +59,15 @@ public class BookingController {
                                                            @RequestParam(name = "from", defaultValue = "0")
                                                            Integer from,
                                                            @Positive @RequestParam(name = "size", defaultValue = "10")
-                                                           Integer size) {
+                                                           Integer size,
+                                                           @RequestParam(name = "view", defaultValue = "compact")
+                                                           String viewParam) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        BookingView view = BookingView.from(viewParam)
+                .orElseThrow(() -> new IncorrectParameterException("Unknown view: " + viewParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookingsByItemOwnerId(userId, state, from, size);
+        return bookingClient.getBookingsByItemOwnerId(userId, state, from, size, view);
     }
 
     @PostMapping
@@ -57,6 +77,14 @@ public class BookingController {
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> bookItems(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                            List<@Valid BookItemRequestDto> requestDtos) {
+        log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+        return bookingClient.bookItems(userId, requestDtos);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                              @PathVariable Long bookingId) {
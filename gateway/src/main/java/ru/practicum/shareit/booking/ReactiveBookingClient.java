@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.client.ClientResilience;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerBalancer;
+import ru.practicum.shareit.client.WireFormat;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(WebClient.Builder builder, ReactorClientHttpConnector connector,
+                                 ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                                 ServerBalancer serverBalancer, ClientResilience clientResilience,
+                                 WireFormat wireFormat) {
+        super(
+                builder
+                        .clientConnector(connector)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                serverBalancer,
+                clientResilience,
+                wireFormat
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                                    String cursor, BookingView view) {
+        Map<String, Object> parameters = pageParameters(from, size, cursor);
+        parameters.put("state", state.name());
+        parameters.put("view", view.toParameter());
+        return get(pagePath("?state={state}&view={view}", parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsByItemOwnerId(long userId, BookingState state, Integer from,
+                                                                 Integer size, BookingView view) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size,
+                "view", view.toParameter()
+        );
+        return get("/owner?state={state}&from={from}&size={size}&view={view}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto)
+                .doOnNext(response -> invalidateRoute(ResponseCache.ITEM));
+    }
+
+    public Mono<ResponseEntity<Object>> bookItems(long userId, List<BookItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos)
+                .doOnNext(response -> invalidateRoute(ResponseCache.ITEM));
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> approveBook(long userId, long bookingId, Boolean approved) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved
+        );
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters)
+                .doOnNext(response -> invalidateRoute(ResponseCache.ITEM));
+    }
+
+    public Mono<Void> deleteById(long bookingId) {
+        return delete("/" + bookingId)
+                .doOnNext(response -> invalidateRoute(ResponseCache.ITEM))
+                .then();
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.util.Optional;
+
+public enum BookingView {
+    // Краткое представление списков
+    COMPACT,
+    // Полное представление с вещью и арендатором
+    FULL;
+
+    public static Optional<BookingView> from(String stringView) {
+        for (BookingView view : values()) {
+            if (view.name().equalsIgnoreCase(stringView)) {
+                return Optional.of(view);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public String toParameter() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+class AbortableRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    AbortableRequestFactory(HttpClient httpClient) {
+        super(httpClient);
+    }
+
+    @Override
+    protected void postProcessHttpRequest(HttpUriRequest request) {
+        // Проигравший hedged-запрос обрывается вместе с соединением, а не дочитывается до конца
+        ServerBalancer.onAbort(request::abort);
+    }
+}
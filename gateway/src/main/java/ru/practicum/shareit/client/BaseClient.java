@@ -5,14 +5,48 @@ import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
+import java.util.HashMap;
 import java.util.Map;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    protected static final String NEXT_CURSOR_HEADER = "nextCursor";
 
-    public BaseClient(RestTemplate rest) {
+    protected final RestTemplate rest;
+    private final String resourcePath;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerBalancer serverBalancer;
+    private final RouteGuard routeGuard;
+    private final WireFormat wireFormat;
+
+    public BaseClient(RestTemplate rest, String resourcePath, ResponseCache responseCache,
+                      RequestCoalescer requestCoalescer, ServerBalancer serverBalancer,
+                      ClientResilience clientResilience, WireFormat wireFormat) {
         this.rest = rest;
+        this.resourcePath = resourcePath;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.serverBalancer = serverBalancer;
+        this.routeGuard = clientResilience.guard(resourcePath);
+        this.wireFormat = wireFormat;
+    }
+
+    protected static Map<String, Object> pageParameters(Integer from, Integer size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
+
+    protected static String pagePath(String path, Map<String, Object> parameters) {
+        String pagePath = path + (path.contains("?") ? "&" : "?") + "from={from}&size={size}";
+        if (parameters.containsKey("cursor")) {
+            pagePath += "&cursor={cursor}";
+        }
+        return pagePath;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -24,13 +58,36 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        routeGuard.checkRateLimit(userId);
+        ResponseCache.Key key = new ResponseCache.Key(resourcePath + path, parameters, userId);
+        return requestCoalescer.execute(key, () -> makeAndSendRequest(HttpMethod.GET, path, userId, parameters,
+                null));
     }
 
     protected ResponseEntity<Object> get(String path, @Nullable Map<String, Object> parameters) {
         return get(path, null, parameters);
     }
 
+    protected ResponseEntity<Object> cachedGet(String route, String path, @Nullable Long userId,
+                                               @Nullable Map<String, Object> parameters) {
+        ResponseCache.Key key = new ResponseCache.Key(resourcePath + path, parameters, userId);
+        ResponseEntity<Object> cachedResponse = responseCache.get(route, key);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+        ResponseEntity<Object> response = get(path, userId, parameters);
+        responseCache.put(route, key, response);
+        return response;
+    }
+
+    protected void invalidateRoute(String route) {
+        responseCache.invalidateRoute(route);
+    }
+
+    protected void invalidateAll() {
+        responseCache.invalidateAll();
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -92,40 +149,79 @@ public class BaseClient {
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
+        boolean idempotent = method == HttpMethod.GET;
+        if (!idempotent) {
+            routeGuard.checkRateLimit(userId);
+        }
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        ResponseEntity<Object> response = routeGuard.execute(idempotent, () -> {
+            try {
+                return serverBalancer.execute(idempotent, serverUrl -> failOnServerError(
+                        exchange(serverUrl + resourcePath + path, method, requestEntity, parameters)));
+            } catch (ServerErrorException e) {
+                return e.getResponse();
+            }
+        });
+        if (method != HttpMethod.GET && response.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidate(resourcePath + path);
+        }
+        return response;
+    }
 
-        ResponseEntity<Object> shareitServerResponse;
+    private <T> ResponseEntity<Object> exchange(String url, HttpMethod method, HttpEntity<T> requestEntity,
+                                                @Nullable Map<String, Object> parameters) {
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(url, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(url, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return prepareGatewayResponse(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
+    static ResponseEntity<Object> failOnServerError(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is5xxServerError()) {
+            throw new ServerErrorException(response);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return response;
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        wireFormat.applyHeaders(headers);
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    private ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, @Nullable HttpHeaders headers,
+                                                          @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        if (headers != null) {
+            MediaType contentType = headers.getContentType();
+            if (wireFormat.isSmile(contentType)) {
+                responseBuilder.contentType(MediaType.APPLICATION_JSON);
+                if (body != null && body.length > 0) {
+                    body = wireFormat.toJson(body);
+                }
+            } else if (contentType != null) {
+                responseBuilder.contentType(contentType);
+            }
+            String nextCursor = headers.getFirst(NEXT_CURSOR_HEADER);
+            if (status.is2xxSuccessful() && nextCursor != null) {
+                responseBuilder.header(NEXT_CURSOR_HEADER, nextCursor);
+            }
+        }
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ClientResilience {
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RateLimiter rateLimiter;
+    private final ConcurrentMap<String, RouteGuard> guards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ClientResilience(ResilienceProperties properties, MeterRegistry meterRegistry, RateLimiter rateLimiter) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = rateLimiter;
+    }
+
+    public RouteGuard guard(String resourcePath) {
+        String route = resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
+        return guards.computeIfAbsent(route, name -> new RouteGuard(name, properties.getRoute(name), rateLimiter,
+                meterRegistry));
+    }
+}
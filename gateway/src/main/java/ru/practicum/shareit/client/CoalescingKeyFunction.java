@@ -0,0 +1,7 @@
+package ru.practicum.shareit.client;
+
+@FunctionalInterface
+public interface CoalescingKeyFunction {
+
+    Object apply(ResponseCache.Key key);
+}
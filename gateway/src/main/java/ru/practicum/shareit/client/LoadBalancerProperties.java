@@ -0,0 +1,22 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.load-balancer")
+public class LoadBalancerProperties {
+
+    private int failureThreshold = 3;
+    private Duration ejectionTime = Duration.ofSeconds(10);
+    private Hedging hedging = new Hedging();
+
+    @Data
+    public static class Hedging {
+        private boolean enabled = false;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class LoadShedder {
+
+    private static final int EWMA_WEIGHT = 8;
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicLong latencyNanos = new AtomicLong();
+
+    LoadShedder(ResilienceProperties.Route properties) {
+        this.enabled = properties.isSheddingEnabled();
+        this.maxLimit = properties.getMaxConcurrentCalls();
+        this.minLimit = Math.min(properties.getSheddingMinLimit(), maxLimit);
+        this.latencyThresholdNanos = properties.getSheddingLatencyThreshold().toNanos();
+        this.limit = new AtomicInteger(maxLimit);
+    }
+
+    int getLimit() {
+        return limit.get();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit.get() && enabled) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    void release(long elapsedNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        long latency = latencyNanos.accumulateAndGet(elapsedNanos,
+                (average, sample) -> average == 0 ? sample : average + (sample - average) / EWMA_WEIGHT);
+        if (latency > latencyThresholdNanos) {
+            limit.updateAndGet(current -> Math.max(minLimit,
+                    (int) (Math.min(current, inFlightBefore) * DECREASE_FACTOR)));
+        } else {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+}
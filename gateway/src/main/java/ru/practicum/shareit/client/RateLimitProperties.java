@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private long maxTrackedUsers = 100_000;
+    private Duration idleExpiry = Duration.ofMinutes(10);
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public Limit getRoute(String route) {
+        return routes.getOrDefault(route, new Limit());
+    }
+
+    @Data
+    public static class Limit {
+        private double requestsPerSecond = 50;
+        private int burst = 100;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<Key, TokenBucket> buckets;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedUsers())
+                .expireAfterAccess(properties.getIdleExpiry())
+                .build();
+    }
+
+    public void acquire(String route, @Nullable Long userId) {
+        if (!properties.isEnabled() || userId == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(new Key(route, userId), key -> {
+            RateLimitProperties.Limit limit = properties.getRoute(route);
+            return new TokenBucket(limit.getRequestsPerSecond(), limit.getBurst(), now);
+        });
+        if (!bucket.tryAcquire(now)) {
+            meterRegistry.counter("shareit.gateway.rate.limited", "route", route).increment();
+            throw new TooManyRequestsException("Превышен лимит запросов пользователя " + userId
+                    + " к маршруту " + route);
+        }
+    }
+
+    @Value
+    private static class Key {
+        String route;
+        long userId;
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class ReactiveBaseClient {
+
+    protected final WebClient webClient;
+    private final String resourcePath;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer requestCoalescer;
+    private final ServerBalancer serverBalancer;
+    private final RouteGuard routeGuard;
+    private final WireFormat wireFormat;
+
+    public ReactiveBaseClient(WebClient webClient, String resourcePath, ResponseCache responseCache,
+                              RequestCoalescer requestCoalescer, ServerBalancer serverBalancer,
+                              ClientResilience clientResilience, WireFormat wireFormat) {
+        this.webClient = webClient;
+        this.resourcePath = resourcePath;
+        this.responseCache = responseCache;
+        this.requestCoalescer = requestCoalescer;
+        this.serverBalancer = serverBalancer;
+        this.routeGuard = clientResilience.guard(resourcePath);
+        this.wireFormat = wireFormat;
+    }
+
+    protected static Map<String, Object> pageParameters(Integer from, Integer size, @Nullable String cursor) {
+        return BaseClient.pageParameters(from, size, cursor);
+    }
+
+    protected static String pagePath(String path, Map<String, Object> parameters) {
+        return BaseClient.pagePath(path, parameters);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        ResponseCache.Key key = new ResponseCache.Key(resourcePath + path, parameters, userId);
+        return Mono.defer(() -> {
+            routeGuard.checkRateLimit(userId);
+            return requestCoalescer.executeReactive(key, () -> makeAndSendRequest(HttpMethod.GET, path, userId,
+                    parameters, null));
+        });
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Map<String, Object> parameters) {
+        return get(path, null, parameters);
+    }
+
+    protected Mono<ResponseEntity<Object>> cachedGet(String route, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters) {
+        ResponseCache.Key key = new ResponseCache.Key(resourcePath + path, parameters, userId);
+        ResponseEntity<Object> cachedResponse = responseCache.get(route, key);
+        if (cachedResponse != null) {
+            return Mono.just(cachedResponse);
+        }
+        return get(path, userId, parameters)
+                .doOnNext(response -> responseCache.put(route, key, response));
+    }
+
+    protected void invalidateRoute(String route) {
+        responseCache.invalidateRoute(route);
+    }
+
+    protected void invalidateAll() {
+        responseCache.invalidateAll();
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, null, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, null, body);
+    }
+
+    protected Mono<ResponseEntity<Object>> patch(String path, long userId, @Nullable Map<String,
+            Object> parameters) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, null, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        boolean idempotent = method == HttpMethod.GET;
+        return Mono.defer(() -> {
+                    if (!idempotent) {
+                        routeGuard.checkRateLimit(userId);
+                    }
+                    return routeGuard.executeReactive(idempotent, () -> serverBalancer.executeReactive(idempotent,
+                                    serverUrl -> exchange(serverUrl + resourcePath + path, method, userId,
+                                            parameters, body).map(BaseClient::failOnServerError))
+                            .onErrorResume(ServerErrorException.class, e -> Mono.just(e.getResponse())));
+                })
+                .doOnNext(response -> {
+                    if (method != HttpMethod.GET && response.getStatusCode().is2xxSuccessful()) {
+                        responseCache.invalidate(resourcePath + path);
+                    }
+                });
+    }
+
+    private <T> Mono<ResponseEntity<Object>> exchange(String url, HttpMethod method, Long userId,
+                                                      @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(url, parameters != null ? parameters : Map.of())
+                .headers(headers -> defaultHeaders(headers, userId));
+        WebClient.RequestHeadersSpec<?> requestWithBody = body != null ? request.bodyValue(body) : request;
+        return requestWithBody.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                .map(responseBody -> prepareGatewayResponse(response.statusCode(),
+                        response.headers().asHttpHeaders(), responseBody))
+                .defaultIfEmpty(prepareGatewayResponse(response.statusCode(),
+                        response.headers().asHttpHeaders(), null)));
+    }
+
+    private void defaultHeaders(HttpHeaders headers, Long userId) {
+        wireFormat.applyHeaders(headers);
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+    }
+
+    private ResponseEntity<Object> prepareGatewayResponse(HttpStatus status, HttpHeaders headers,
+                                                          @Nullable byte[] body) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(status);
+
+        MediaType contentType = headers.getContentType();
+        if (wireFormat.isSmile(contentType)) {
+            responseBuilder.contentType(MediaType.APPLICATION_JSON);
+            if (body != null && body.length > 0) {
+                body = wireFormat.toJson(body);
+            }
+        } else if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
+        String nextCursor = headers.getFirst(BaseClient.NEXT_CURSOR_HEADER);
+        if (status.is2xxSuccessful() && nextCursor != null) {
+            responseBuilder.header(BaseClient.NEXT_CURSOR_HEADER, nextCursor);
+        }
+
+        if (body != null && body.length > 0) {
+            return responseBuilder.body(body);
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Component
+public class RequestCoalescer {
+
+    private static final String METRIC = "shareit.gateway.coalescing";
+
+    private final boolean enabled;
+    private final CoalescingKeyFunction keyFunction;
+    private final ConcurrentMap<Object, CompletableFuture<ResponseEntity<Object>>> inFlight =
+            new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, Mono<ResponseEntity<Object>>> inFlightMonos = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    @Autowired
+    public RequestCoalescer(@Value("${shareit-server.coalescing.enabled:true}") boolean enabled,
+                            ObjectProvider<CoalescingKeyFunction> keyFunction,
+                            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.keyFunction = keyFunction.getIfAvailable(() -> key -> key);
+        this.executed = meterRegistry.counter(METRIC + ".requests", "result", "executed");
+        this.coalesced = meterRegistry.counter(METRIC + ".requests", "result", "coalesced");
+        meterRegistry.gauge(METRIC + ".in.flight", this, coalescer -> coalescer.inFlight.size()
+                + coalescer.inFlightMonos.size());
+    }
+
+    public ResponseEntity<Object> execute(ResponseCache.Key key, Supplier<ResponseEntity<Object>> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        Object coalescingKey = keyFunction.apply(key);
+        CompletableFuture<ResponseEntity<Object>> flight = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> existing = inFlight.putIfAbsent(coalescingKey, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        executed.increment();
+        try {
+            ResponseEntity<Object> response = call.get();
+            flight.complete(response);
+            return response;
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (!flight.isDone()) {
+                flight.completeExceptionally(new IllegalStateException("Запрос завершился без ответа"));
+            }
+            inFlight.remove(coalescingKey, flight);
+        }
+    }
+
+    public Mono<ResponseEntity<Object>> executeReactive(ResponseCache.Key key,
+                                                        Supplier<Mono<ResponseEntity<Object>>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            Object coalescingKey = keyFunction.apply(key);
+            AtomicBoolean leader = new AtomicBoolean();
+            Mono<ResponseEntity<Object>> flight = inFlightMonos.computeIfAbsent(coalescingKey, ignored -> {
+                leader.set(true);
+                return Mono.defer(call)
+                        .doFinally(signal -> inFlightMonos.remove(coalescingKey))
+                        .cache();
+            });
+            (leader.get() ? executed : coalesced).increment();
+            return flight;
+        });
+    }
+
+    private static ResponseEntity<Object> join(CompletableFuture<ResponseEntity<Object>> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit-server.resilience")
+public class ResilienceProperties {
+
+    private Map<String, Route> routes = new HashMap<>();
+
+    public Route getRoute(String route) {
+        return routes.getOrDefault(route, new Route());
+    }
+
+    @Data
+    public static class Route {
+        private int maxConcurrentCalls = 100;
+        private Duration maxWait = Duration.ofMillis(50);
+        private int failureRateThreshold = 50;
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private Duration openDuration = Duration.ofSeconds(10);
+        private int halfOpenCalls = 3;
+        private int maxRetries = 1;
+        private double retryBudgetRatio = 0.1;
+        private int retryBudgetMaxTokens = 10;
+        private boolean sheddingEnabled = true;
+        private int sheddingMinLimit = 10;
+        private Duration sheddingLatencyThreshold = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCache {
+
+    public static final String ITEM_SEARCH = "item-search";
+    public static final String ITEM = "item";
+    public static final String ITEM_REQUEST = "item-request";
+
+    private final Map<String, RouteCache> routes = new HashMap<>();
+
+    @Autowired
+    public ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Ticker.systemTicker());
+    }
+
+    ResponseCache(ResponseCacheProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        properties.getRoutes().forEach((route, settings) -> {
+            RouteCache routeCache = new RouteCache(settings, ticker);
+            CaffeineCacheMetrics.monitor(meterRegistry, routeCache.cache, route);
+            routes.put(route, routeCache);
+            log.info("Кэш ответов '{}': ttl={}, maxSize={}", route, settings.getTtl(), settings.getMaxSize());
+        });
+    }
+
+    @Nullable
+    public ResponseEntity<Object> get(String route, Key key) {
+        RouteCache routeCache = routes.get(route);
+        return routeCache != null ? routeCache.cache.getIfPresent(key) : null;
+    }
+
+    public void put(String route, Key key, ResponseEntity<Object> response) {
+        RouteCache routeCache = routes.get(route);
+        if (routeCache != null && response.getStatusCode().is2xxSuccessful()) {
+            routeCache.put(key, response);
+        }
+    }
+
+    public void invalidate(String path) {
+        String resource = resourceOf(path);
+        routes.values().forEach(routeCache -> routeCache.invalidateRelated(resource));
+    }
+
+    public void invalidateRoute(String route) {
+        RouteCache routeCache = routes.get(route);
+        if (routeCache != null) {
+            routeCache.invalidateAll();
+        }
+    }
+
+    public void invalidateAll() {
+        routes.values().forEach(RouteCache::invalidateAll);
+    }
+
+    private static String resourceOf(String path) {
+        int queryStart = path.indexOf('?');
+        return queryStart >= 0 ? path.substring(0, queryStart) : path;
+    }
+
+    // Ключи индексируются по ресурсу без query, чтобы запись не перебирала весь кэш маршрута
+    private static class RouteCache {
+        private final ConcurrentNavigableMap<String, Set<Key>> keysByResource = new ConcurrentSkipListMap<>();
+        private final Cache<Key, ResponseEntity<Object>> cache;
+
+        RouteCache(ResponseCacheProperties.Route settings, Ticker ticker) {
+            cache = Caffeine.newBuilder()
+                    .maximumSize(settings.getMaxSize())
+                    .expireAfterWrite(settings.getTtl())
+                    .ticker(ticker)
+                    .evictionListener((Key key, ResponseEntity<Object> response, RemovalCause cause) ->
+                            unindex(key))
+                    .recordStats()
+                    .build();
+        }
+
+        void put(Key key, ResponseEntity<Object> response) {
+            cache.put(key, response);
+            keysByResource.computeIfAbsent(key.getResource(), resource -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+
+        void invalidateRelated(String resource) {
+            // Запись делает устаревшими сам ресурс, вложенные в него ресурсы и родительские списки
+            invalidateResource(resource);
+            keysByResource.subMap(resource + "/", resource + "0").keySet().forEach(this::invalidateResource);
+            for (int slash = resource.lastIndexOf('/'); slash > 0; slash = resource.lastIndexOf('/', slash - 1)) {
+                invalidateResource(resource.substring(0, slash));
+            }
+        }
+
+        void invalidateAll() {
+            keysByResource.clear();
+            cache.invalidateAll();
+        }
+
+        private void invalidateResource(String resource) {
+            Set<Key> keys = keysByResource.remove(resource);
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        }
+
+        private void unindex(Key key) {
+            keysByResource.computeIfPresent(key.getResource(), (resource, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
+    @Value
+    public static class Key {
+        String path;
+        @Nullable
+        Map<String, Object> parameters;
+        @Nullable
+        Long userId;
+
+        String getResource() {
+            return resourceOf(path);
+        }
+    }
+}
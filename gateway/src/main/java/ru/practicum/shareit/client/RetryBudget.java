@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    RetryBudget(ResilienceProperties.Route properties) {
+        this.ratio = properties.getRetryBudgetRatio();
+        this.maxTokens = properties.getRetryBudgetMaxTokens();
+        this.tokens = maxTokens;
+    }
+
+    synchronized double getTokens() {
+        return tokens;
+    }
+
+    synchronized void onRequest() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    synchronized boolean tryRetry() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
@@ -0,0 +1,189 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class RouteGuard {
+
+    private static final String METRIC = "shareit.gateway.resilience";
+
+    private final String route;
+    private final ResilienceProperties.Route properties;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final LoadShedder loadShedder;
+    private final RateLimiter rateLimiter;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+    private final Counter retries;
+    private final Counter shedRequests;
+
+    RouteGuard(String route, ResilienceProperties.Route properties, RateLimiter rateLimiter,
+               MeterRegistry meterRegistry) {
+        this.route = route;
+        this.properties = properties;
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(properties);
+        this.retryBudget = new RetryBudget(properties);
+        this.loadShedder = new LoadShedder(properties);
+        this.rateLimiter = rateLimiter;
+        Tags tags = Tags.of("route", route);
+        this.bulkheadRejections = meterRegistry.counter(METRIC + ".bulkhead.rejected", tags);
+        this.circuitRejections = meterRegistry.counter(METRIC + ".circuit.rejected", tags);
+        this.retries = meterRegistry.counter(METRIC + ".retries", tags);
+        this.shedRequests = meterRegistry.counter(METRIC + ".shed", tags);
+        meterRegistry.gauge(METRIC + ".bulkhead.available", tags, bulkhead, Semaphore::availablePermits);
+        meterRegistry.gauge(METRIC + ".circuit.state", tags, circuitBreaker,
+                breaker -> breaker.getState().ordinal());
+        meterRegistry.gauge(METRIC + ".retry.budget", tags, retryBudget, RetryBudget::getTokens);
+        meterRegistry.gauge(METRIC + ".shedding.limit", tags, loadShedder, LoadShedder::getLimit);
+        meterRegistry.gauge(METRIC + ".in.flight", tags, loadShedder, LoadShedder::getInFlight);
+    }
+
+    CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    int getSheddingLimit() {
+        return loadShedder.getLimit();
+    }
+
+    public void checkRateLimit(@Nullable Long userId) {
+        rateLimiter.acquire(route, userId);
+    }
+
+    public ResponseEntity<Object> execute(boolean idempotent, Supplier<ResponseEntity<Object>> call) {
+        try {
+            if (!bulkhead.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw bulkheadFull();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw bulkheadFull();
+        }
+        long start = System.nanoTime();
+        try {
+            admit();
+        } catch (ServiceUnavailableException e) {
+            bulkhead.release();
+            throw e;
+        }
+        try {
+            retryBudget.onRequest();
+            for (int attempt = 0; ; attempt++) {
+                ResponseEntity<Object> response;
+                try {
+                    response = call.get();
+                } catch (RuntimeException e) {
+                    circuitBreaker.onFailure();
+                    if (!canRetry(idempotent, attempt)) {
+                        throw e;
+                    }
+                    continue;
+                }
+                if (!response.getStatusCode().is5xxServerError()) {
+                    circuitBreaker.onSuccess();
+                    return response;
+                }
+                circuitBreaker.onFailure();
+                if (!canRetry(idempotent, attempt)) {
+                    return response;
+                }
+            }
+        } finally {
+            loadShedder.release(System.nanoTime() - start);
+            bulkhead.release();
+        }
+    }
+
+    public Mono<ResponseEntity<Object>> executeReactive(boolean idempotent,
+                                                        Supplier<Mono<ResponseEntity<Object>>> call) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                return Mono.error(bulkheadFull());
+            }
+            long start = System.nanoTime();
+            try {
+                admit();
+            } catch (ServiceUnavailableException e) {
+                bulkhead.release();
+                return Mono.error(e);
+            }
+            retryBudget.onRequest();
+            return tryCall(idempotent, call, 0)
+                    .doOnCancel(circuitBreaker::onCancel)
+                    .doFinally(signal -> {
+                        loadShedder.release(System.nanoTime() - start);
+                        bulkhead.release();
+                    });
+        });
+    }
+
+    private Mono<ResponseEntity<Object>> tryCall(boolean idempotent, Supplier<Mono<ResponseEntity<Object>>> call,
+                                                 int attempt) {
+        return Mono.defer(call)
+                .materialize()
+                .flatMap(signal -> {
+                    ResponseEntity<Object> response = signal.get();
+                    if (signal.isOnComplete()) {
+                        circuitBreaker.onSuccess();
+                        return Mono.empty();
+                    }
+                    if (response != null && !response.getStatusCode().is5xxServerError()) {
+                        circuitBreaker.onSuccess();
+                        return Mono.just(response);
+                    }
+                    circuitBreaker.onFailure();
+                    if (canRetry(idempotent, attempt)) {
+                        return tryCall(idempotent, call, attempt + 1);
+                    }
+                    return response != null ? Mono.just(response) : Mono.error(signal.getThrowable());
+                });
+    }
+
+    private void admit() {
+        if (!loadShedder.tryAcquire()) {
+            shedRequests.increment();
+            throw new ServiceUnavailableException("Сервер ShareIt перегружен, запрос к маршруту " + route
+                    + " отклонён");
+        }
+        try {
+            acquireCircuitPermission();
+        } catch (ServiceUnavailableException e) {
+            loadShedder.cancel();
+            throw e;
+        }
+    }
+
+    private void acquireCircuitPermission() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejections.increment();
+            throw new ServiceUnavailableException("Сервер ShareIt недоступен, маршрут " + route
+                    + " временно отключён");
+        }
+    }
+
+    private ServiceUnavailableException bulkheadFull() {
+        bulkheadRejections.increment();
+        return new ServiceUnavailableException("Превышено число одновременных запросов к маршруту " + route);
+    }
+
+    private boolean canRetry(boolean idempotent, int attempt) {
+        if (!idempotent || attempt >= properties.getMaxRetries() || !retryBudget.tryRetry()
+                || !circuitBreaker.tryAcquirePermission()) {
+            return false;
+        }
+        retries.increment();
+        return true;
+    }
+}
@@ -0,0 +1,292 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties({LoadBalancerProperties.class, ResilienceProperties.class})
+public class ServerBalancer {
+
+    private static final ThreadLocal<HedgedAttempt<?>> CURRENT_ATTEMPT = new ThreadLocal<>();
+
+    private final List<ServerEndpoint> endpoints;
+    private final LoadBalancerProperties properties;
+    private final Counter hedgedRequests;
+    private final ThreadPoolExecutor hedgingExecutor;
+
+    @Autowired
+    public ServerBalancer(@Value("${shareit-server.url}") List<String> urls, LoadBalancerProperties properties,
+                          ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+        this.endpoints = urls.stream()
+                .map(String::trim)
+                .distinct()
+                .map(url -> new ServerEndpoint(url, meterRegistry))
+                .collect(Collectors.toList());
+        this.properties = properties;
+        this.hedgedRequests = meterRegistry.counter("shareit.gateway.server.hedged");
+        // Hedged GET занимает не больше двух потоков, а одновременных вызовов не больше, чем пускают bulkhead-ы
+        int hedgingThreads = 2 * resilienceProperties.getRoutes().values().stream()
+                .mapToInt(ResilienceProperties.Route::getMaxConcurrentCalls)
+                .reduce(Integer::sum)
+                .orElse(new ResilienceProperties.Route().getMaxConcurrentCalls());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shareit-hedging-");
+        threadFactory.setDaemon(true);
+        this.hedgingExecutor = new ThreadPoolExecutor(0, hedgingThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
+        log.info("Адреса сервера ShareIt: {}, hedging={}, потоков hedging={}", urls,
+                properties.getHedging().isEnabled(), hedgingThreads);
+    }
+
+    static void onAbort(Runnable abort) {
+        HedgedAttempt<?> attempt = CURRENT_ATTEMPT.get();
+        if (attempt != null) {
+            attempt.onAbort(abort);
+        }
+    }
+
+    public <R> R execute(boolean idempotent, Function<String, R> call) {
+        ServerEndpoint primary = choose(null);
+        if (!idempotent || !isHedgingPossible()) {
+            return call(primary, call);
+        }
+        HedgedAttempt<R> first;
+        try {
+            first = submit(primary, call);
+        } catch (RejectedExecutionException e) {
+            return call(primary, call);
+        }
+        try {
+            return first.result.get(hedgeDelay(primary).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return hedge(primary, first, call);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            first.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос к серверу ShareIt прерван", e);
+        }
+    }
+
+    public <R> Mono<R> executeReactive(boolean idempotent, Function<String, Mono<R>> call) {
+        return Mono.defer(() -> {
+            ServerEndpoint primary = choose(null);
+            Mono<R> first = callReactive(primary, call);
+            if (!idempotent || !isHedgingPossible()) {
+                return first;
+            }
+            Mono<R> second = Mono.delay(hedgeDelay(primary))
+                    .then(Mono.defer(() -> {
+                        hedgedRequests.increment();
+                        return callReactive(choose(primary), call);
+                    }));
+            // Если упали обе попытки, наружу отдаётся ошибка основной
+            return Mono.firstWithValue(first, second)
+                    .onErrorMap(NoSuchElementException.class,
+                            e -> e.getSuppressed().length > 0 ? e.getSuppressed()[0] : e);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgingExecutor.shutdown();
+    }
+
+    List<ServerEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    int getHedgingThreads() {
+        return hedgingExecutor.getMaximumPoolSize();
+    }
+
+    ServerEndpoint choose(@Nullable ServerEndpoint excluded) {
+        long now = System.nanoTime();
+        int start = ThreadLocalRandom.current().nextInt(endpoints.size());
+        ServerEndpoint best = null;
+        ServerEndpoint fallback = null;
+        for (int i = 0; i < endpoints.size(); i++) {
+            ServerEndpoint endpoint = endpoints.get((start + i) % endpoints.size());
+            if (endpoint == excluded) {
+                continue;
+            }
+            if (fallback == null || endpoint.getOutstanding() < fallback.getOutstanding()) {
+                fallback = endpoint;
+            }
+            if (endpoint.isAvailable(now)
+                    && (best == null || endpoint.getOutstanding() < best.getOutstanding())) {
+                best = endpoint;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        return fallback != null ? fallback : excluded;
+    }
+
+    private boolean isHedgingPossible() {
+        return properties.getHedging().isEnabled() && endpoints.size() > 1;
+    }
+
+    private Duration hedgeDelay(ServerEndpoint endpoint) {
+        LoadBalancerProperties.Hedging hedging = properties.getHedging();
+        Duration p95 = endpoint.getP95();
+        if (p95.compareTo(hedging.getMinDelay()) < 0) {
+            return hedging.getMinDelay();
+        }
+        return p95.compareTo(hedging.getMaxDelay()) > 0 ? hedging.getMaxDelay() : p95;
+    }
+
+    private <R> R hedge(ServerEndpoint primary, HedgedAttempt<R> first, Function<String, R> call) {
+        HedgedAttempt<R> second;
+        try {
+            second = submit(choose(primary), call);
+        } catch (RejectedExecutionException e) {
+            return join(first.result);
+        }
+        hedgedRequests.increment();
+        try {
+            return join(firstSuccessful(first.result, second.result));
+        } finally {
+            first.cancel();
+            second.cancel();
+        }
+    }
+
+    private <R> HedgedAttempt<R> submit(ServerEndpoint endpoint, Function<String, R> call) {
+        HedgedAttempt<R> attempt = new HedgedAttempt<>();
+        attempt.task = hedgingExecutor.submit(() -> {
+            CURRENT_ATTEMPT.set(attempt);
+            try {
+                attempt.result.complete(call(endpoint, call));
+            } catch (Throwable e) {
+                attempt.result.completeExceptionally(e);
+            } finally {
+                CURRENT_ATTEMPT.remove();
+            }
+        });
+        return attempt;
+    }
+
+    private <R> R call(ServerEndpoint endpoint, Function<String, R> call) {
+        endpoint.started();
+        long start = System.nanoTime();
+        try {
+            R result = call.apply(endpoint.getUrl());
+            endpoint.succeeded(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            HedgedAttempt<?> attempt = CURRENT_ATTEMPT.get();
+            if (attempt == null || !attempt.cancelled) {
+                failed(endpoint, e);
+            }
+            throw e;
+        } finally {
+            endpoint.finished();
+        }
+    }
+
+    private <R> Mono<R> callReactive(ServerEndpoint endpoint, Function<String, Mono<R>> call) {
+        return Mono.defer(() -> {
+            endpoint.started();
+            long start = System.nanoTime();
+            return call.apply(endpoint.getUrl())
+                    .doOnSuccess(result -> endpoint.succeeded(System.nanoTime() - start))
+                    .doOnError(e -> failed(endpoint, e))
+                    .doFinally(signal -> endpoint.finished());
+        });
+    }
+
+    private void failed(ServerEndpoint endpoint, Throwable e) {
+        if (endpoint.failed(properties.getFailureThreshold(), properties.getEjectionTime())) {
+            log.warn("Сервер {} исключён из балансировки на {}: {}", endpoint.getUrl(),
+                    properties.getEjectionTime(), e.getMessage());
+        }
+    }
+
+    private static <R> CompletableFuture<R> firstSuccessful(CompletableFuture<R> first, CompletableFuture<R> second) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<R> attempt : List.of(first, second)) {
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+        return result;
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+    }
+
+    private static class HedgedAttempt<R> {
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        private volatile Future<?> task;
+        private volatile Runnable abort;
+        private volatile boolean cancelled;
+
+        void onAbort(Runnable action) {
+            abort = action;
+            if (cancelled) {
+                action.run();
+            }
+        }
+
+        void cancel() {
+            if (result.isDone()) {
+                return;
+            }
+            cancelled = true;
+            Runnable action = abort;
+            if (action != null) {
+                action.run();
+            }
+            Future<?> running = task;
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServerEndpoint {
+
+    private static final String METRIC = "shareit.gateway.server";
+
+    private final String url;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntil;
+    private final Timer timer;
+
+    public ServerEndpoint(String url, MeterRegistry meterRegistry) {
+        this.url = url;
+        this.timer = Timer.builder(METRIC + ".requests")
+                .tag("endpoint", url)
+                .publishPercentiles(0.95)
+                .register(meterRegistry);
+        meterRegistry.gauge(METRIC + ".outstanding", Tags.of("endpoint", url), outstanding);
+        meterRegistry.gauge(METRIC + ".available", Tags.of("endpoint", url), this,
+                endpoint -> endpoint.isAvailable(System.nanoTime()) ? 1 : 0);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    int getOutstanding() {
+        return outstanding.get();
+    }
+
+    boolean isAvailable(long now) {
+        return now - ejectedUntil >= 0;
+    }
+
+    Duration getP95() {
+        ValueAtPercentile[] percentiles = timer.takeSnapshot().percentileValues();
+        return percentiles.length > 0
+                ? Duration.ofNanos((long) percentiles[0].value(TimeUnit.NANOSECONDS))
+                : Duration.ZERO;
+    }
+
+    void started() {
+        outstanding.incrementAndGet();
+    }
+
+    void finished() {
+        outstanding.decrementAndGet();
+    }
+
+    void succeeded(long elapsedNanos) {
+        consecutiveFailures.set(0);
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    boolean failed(int failureThreshold, Duration ejectionTime) {
+        if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntil = System.nanoTime() + ejectionTime.toNanos();
+        return true;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.ResponseEntity;
+
+// Ответ 5xx внутри балансировщика считается отказом реплики, наружу отдаётся сам ответ
+class ServerErrorException extends RuntimeException {
+
+    private final ResponseEntity<Object> response;
+
+    ServerErrorException(ResponseEntity<Object> response) {
+        super("Сервер ShareIt ответил " + response.getStatusCode(), null, false, false);
+        this.response = response;
+    }
+
+    ResponseEntity<Object> getResponse() {
+        return response;
+    }
+}
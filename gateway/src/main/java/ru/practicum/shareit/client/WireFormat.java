@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@Component
+public class WireFormat {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final boolean smile;
+    private final ObjectMapper smileMapper;
+    private final SmileFactory smileFactory;
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public WireFormat(@Value("${shareit-server.wire-format:json}") String format,
+                      Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        if (!"json".equalsIgnoreCase(format) && !"smile".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Неизвестный формат обмена с сервером: " + format);
+        }
+        this.smile = "smile".equalsIgnoreCase(format);
+        this.smileFactory = new SmileFactory();
+        this.smileMapper = objectMapperBuilder.factory(smileFactory).build();
+        this.jsonFactory = new JsonFactory();
+    }
+
+    public ObjectMapper getSmileMapper() {
+        return smileMapper;
+    }
+
+    public void applyHeaders(HttpHeaders headers) {
+        if (smile) {
+            headers.setContentType(APPLICATION_SMILE);
+            headers.setAccept(List.of(APPLICATION_SMILE, MediaType.APPLICATION_JSON));
+        } else {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        }
+    }
+
+    public boolean isSmile(@Nullable MediaType contentType) {
+        return contentType != null && APPLICATION_SMILE.isCompatibleWith(contentType);
+    }
+
+    public byte[] toJson(byte[] smileBody) {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(smileBody.length * 2);
+        try (JsonParser parser = smileFactory.createParser(smileBody);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+}
@@ -11,10 +11,31 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 public class ErrorHandler {
 
     @ExceptionHandler
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handle(IllegalArgumentException e) {
         log.error("Unknown state: UNSUPPORTED_STATUS {}", e.getMessage());
         return new ErrorResponse("Unknown state: UNSUPPORTED_STATUS", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handle(IncorrectParameterException e) {
+        log.error("Incorrect parameter: {}", e.getMessage());
+        return new ErrorResponse("INCORRECT_PARAMETER", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handle(ServiceUnavailableException e) {
+        log.warn("Service unavailable: {}", e.getMessage());
+        return new ErrorResponse("SERVICE_UNAVAILABLE", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ErrorResponse handle(TooManyRequestsException e) {
+        log.warn("Too many requests: {}", e.getMessage());
+        return new ErrorResponse("TOO_MANY_REQUESTS", e.getMessage());
+    }
+
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class IncorrectParameterException extends RuntimeException {
+    public IncorrectParameterException(String message) {
+        super(message);
+    }
+}
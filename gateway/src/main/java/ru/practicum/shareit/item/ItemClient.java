@@ -1,47 +1,67 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.ClientResilience;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerBalancer;
+import ru.practicum.shareit.client.WireFormat;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(RestTemplateBuilder builder, HttpComponentsClientHttpRequestFactory requestFactory,
+                      ResponseCache responseCache, RequestCoalescer requestCoalescer, ServerBalancer serverBalancer,
+                      ClientResilience clientResilience, WireFormat wireFormat) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                serverBalancer,
+                clientResilience,
+                wireFormat
         );
     }
 
-    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = pageParameters(from, size, cursor);
+        return get(pagePath("", parameters), userId, parameters);
     }
 
     public ResponseEntity<Object> save(long userId, ItemDto itemDto) {
-        return post("", userId, itemDto);
+        ResponseEntity<Object> response = post("", userId, itemDto);
+        invalidateItemListings();
+        return response;
+    }
+
+    public ResponseEntity<Object> saveAll(long userId, List<ItemDto> itemDtos) {
+        ResponseEntity<Object> response = post("/batch", userId, itemDtos);
+        invalidateItemListings();
+        return response;
     }
 
     public ResponseEntity<Object> update(long userId, long itemId, ItemDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+        ResponseEntity<Object> response = patch("/" + itemId, userId, itemDto);
+        invalidateItemListings();
+        return response;
     }
 
     public ResponseEntity<Object> saveComment(long userId, long itemId, CommentDto commentDto) {
@@ -49,11 +69,12 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getItem(long itemId, long userId) {
-        return get("/" + itemId, userId);
+        return cachedGet(ResponseCache.ITEM, "/" + itemId, userId, null);
     }
 
     public void deleteById(long itemId) {
         delete("/" + itemId);
+        invalidateItemListings();
     }
 
     public ResponseEntity<Object> searchItem(String text, Integer from, Integer size) {
@@ -62,7 +83,13 @@ public class ItemClient extends BaseClient {
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", parameters);
+        return cachedGet(ResponseCache.ITEM_SEARCH, "/search?text={text}&from={from}&size={size}", null,
+                parameters);
+    }
+
+    private void invalidateItemListings() {
+        invalidateRoute(ResponseCache.ITEM_SEARCH);
+        invalidateRoute(ResponseCache.ITEM_REQUEST);
     }
 
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -10,23 +11,30 @@ import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 
 @RestController
+@Profile("!reactive")
 @Slf4j
 @RequiredArgsConstructor
 @Validated
 @RequestMapping("/items")
 public class ItemController {
 
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final ItemClient itemClient;
 
     @GetMapping
     public ResponseEntity<Object> findAll(@RequestHeader("X-Sharer-User-Id") long userId,
                                           @RequestParam(defaultValue = "0") @Min(0) int from,
-                                          @RequestParam(defaultValue = "20") @Positive int size) {
-        return itemClient.getAll(userId, from, size);
+                                          @RequestParam(defaultValue = "20") @Positive int size,
+                                          @RequestParam(required = false) String cursor) {
+        return itemClient.getAll(userId, from, size, cursor);
     }
 
     @PostMapping
@@ -37,6 +45,14 @@ public class ItemController {
         return itemClient.save(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                            List<@Valid ItemDto> itemDtos) {
+        log.info("Получен запрос к эндпоинту: 'POST /items/batch', Вещей: {}", itemDtos.size());
+        return itemClient.saveAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") long userId,
                                          @PathVariable long id,
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ClientResilience;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerBalancer;
+import ru.practicum.shareit.client.WireFormat;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(WebClient.Builder builder, ReactorClientHttpConnector connector,
+                              ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                              ServerBalancer serverBalancer, ClientResilience clientResilience,
+                              WireFormat wireFormat) {
+        super(
+                builder
+                        .clientConnector(connector)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                serverBalancer,
+                clientResilience,
+                wireFormat
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getAll(long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = pageParameters(from, size, cursor);
+        return get(pagePath("", parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> save(long userId, ItemDto itemDto) {
+        return post("", userId, itemDto)
+                .doOnNext(response -> invalidateItemListings());
+    }
+
+    public Mono<ResponseEntity<Object>> saveAll(long userId, List<ItemDto> itemDtos) {
+        return post("/batch", userId, itemDtos)
+                .doOnNext(response -> invalidateItemListings());
+    }
+
+    public Mono<ResponseEntity<Object>> update(long userId, long itemId, ItemDto itemDto) {
+        return patch("/" + itemId, userId, itemDto)
+                .doOnNext(response -> invalidateItemListings());
+    }
+
+    public Mono<ResponseEntity<Object>> saveComment(long userId, long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(long itemId, long userId) {
+        return cachedGet(ResponseCache.ITEM, "/" + itemId, userId, null);
+    }
+
+    public Mono<Void> deleteById(long itemId) {
+        return delete("/" + itemId)
+                .doOnNext(response -> invalidateItemListings())
+                .then();
+    }
+
+    public Mono<ResponseEntity<Object>> searchItem(String text, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return cachedGet(ResponseCache.ITEM_SEARCH, "/search?text={text}&from={from}&size={size}", null,
+                parameters);
+    }
+
+    private void invalidateItemListings() {
+        invalidateRoute(ResponseCache.ITEM_SEARCH);
+        invalidateRoute(ResponseCache.ITEM_REQUEST);
+    }
+
+}
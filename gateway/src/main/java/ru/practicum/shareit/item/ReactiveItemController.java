@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+
+@RestController
+@Profile("reactive")
+@Slf4j
+@RequiredArgsConstructor
+@Validated
+@RequestMapping("/items")
+public class ReactiveItemController {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final ReactiveItemClient itemClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                @RequestParam(defaultValue = "20") @Positive int size,
+                                                @RequestParam(required = false) String cursor) {
+        return itemClient.getAll(userId, from, size, cursor);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @Valid @RequestBody ItemDto itemDto) {
+        log.info("Получен запрос к эндпоинту: 'POST /items', Вещь: Наименование: {} и Описание: {}",
+                itemDto.getName(), itemDto.getDescription());
+        return itemClient.save(userId, itemDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                  @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                  List<@Valid ItemDto> itemDtos) {
+        log.info("Получен запрос к эндпоинту: 'POST /items/batch', Вещей: {}", itemDtos.size());
+        return itemClient.saveAll(userId, itemDtos);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @PathVariable long id,
+                                               @RequestBody ItemDto itemDto) {
+        log.info("PATCH user id={}, item id={}", userId, id);
+        return itemClient.update(userId, id, itemDto);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> createComment(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                      @Valid @RequestBody CommentDto commentDto,
+                                                      @PathVariable long itemId) {
+        log.info("Получен запрос к эндпоинту: 'POST/{itemId}/comment', Вещь с Id: {}, Комментарий: {}",
+                itemId, commentDto.getText());
+        return itemClient.saveComment(userId, itemId, commentDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> findItemById(@PathVariable long itemId,
+                                                     @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Get item id={}", itemId);
+        return itemClient.getItem(itemId, userId);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteItemById(@PathVariable long id) {
+        log.info("Delete item id={}", id);
+        return itemClient.deleteById(id);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> findItemByText(@RequestParam String text,
+                                                       @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                       @RequestParam(defaultValue = "20") @Positive int size) {
+        log.info("Get search item text={}", text);
+        return itemClient.searchItem(text, from, size);
+    }
+}
@@ -1,29 +1,42 @@
 package ru.practicum.shareit.requests;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.ClientResilience;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerBalancer;
+import ru.practicum.shareit.client.WireFormat;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(RestTemplateBuilder builder, HttpComponentsClientHttpRequestFactory requestFactory,
+                             ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                             ServerBalancer serverBalancer, ClientResilience clientResilience,
+                             WireFormat wireFormat) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                serverBalancer,
+                clientResilience,
+                wireFormat
         );
     }
 
@@ -32,19 +45,16 @@ public class ItemRequestClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getItemRequests(long userId) {
-        return get("", userId);
+        return cachedGet(ResponseCache.ITEM_REQUEST, "", userId, null);
     }
 
-    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "from", from,
-                "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getAll(long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = pageParameters(from, size, cursor);
+        return cachedGet(ResponseCache.ITEM_REQUEST, pagePath("/all", parameters), userId, parameters);
     }
 
     public ResponseEntity<Object> getItemRequest(long userId, long requestId) {
-        return get("/" + requestId, userId);
+        return cachedGet(ResponseCache.ITEM_REQUEST, "/" + requestId, userId, null);
     }
 
 }
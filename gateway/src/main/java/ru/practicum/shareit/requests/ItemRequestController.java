@@ -2,6 +2,7 @@ package ru.practicum.shareit.requests;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -12,6 +13,7 @@ import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
 
 @RestController
+@Profile("!reactive")
 @Slf4j
 @RequiredArgsConstructor
 @Validated
@@ -36,8 +38,9 @@ public class ItemRequestController {
     @GetMapping("/all")
     public ResponseEntity<Object> findByRequestId(@RequestHeader("X-Sharer-User-Id") long userId,
                                                   @RequestParam(defaultValue = "0") @Min(0) int from,
-                                                  @RequestParam(defaultValue = "20") @Positive int size) {
-        return itemRequestClient.getAll(userId, from, size);
+                                                  @RequestParam(defaultValue = "20") @Positive int size,
+                                                  @RequestParam(required = false) String cursor) {
+        return itemRequestClient.getAll(userId, from, size, cursor);
     }
 
     @GetMapping("/{requestId}")
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.requests;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ClientResilience;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerBalancer;
+import ru.practicum.shareit.client.WireFormat;
+import ru.practicum.shareit.requests.dto.ItemRequestDto;
+
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    @Autowired
+    public ReactiveItemRequestClient(WebClient.Builder builder, ReactorClientHttpConnector connector,
+                                     ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                                     ServerBalancer serverBalancer, ClientResilience clientResilience,
+                                     WireFormat wireFormat) {
+        super(
+                builder
+                        .clientConnector(connector)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                serverBalancer,
+                clientResilience,
+                wireFormat
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> save(long userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequests(long userId) {
+        return cachedGet(ResponseCache.ITEM_REQUEST, "", userId, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getAll(long userId, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = pageParameters(from, size, cursor);
+        return cachedGet(ResponseCache.ITEM_REQUEST, pagePath("/all", parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemRequest(long userId, long requestId) {
+        return cachedGet(ResponseCache.ITEM_REQUEST, "/" + requestId, userId, null);
+    }
+
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.requests;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.requests.dto.ItemRequestDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+
+@RestController
+@Profile("reactive")
+@Slf4j
+@RequiredArgsConstructor
+@Validated
+@RequestMapping(path = "/requests")
+public class ReactiveItemRequestController {
+
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> add(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @Valid @RequestBody ItemRequestDto itemRequestDto) {
+        log.info("Получен запрос к эндпоинту: 'POST/requests', Запрос на вещь: Описание: {}",
+                itemRequestDto.getDescription());
+        return itemRequestClient.save(userId, itemRequestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAll(@RequestHeader("X-Sharer-User-Id") long userId) {
+        return itemRequestClient.getItemRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> findByRequestId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestParam(defaultValue = "0") @Min(0) int from,
+                                                        @RequestParam(defaultValue = "20") @Positive int size,
+                                                        @RequestParam(required = false) String cursor) {
+        return itemRequestClient.getAll(userId, from, size, cursor);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> findByRequestId(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @PathVariable long requestId) {
+        return itemRequestClient.getItemRequest(userId, requestId);
+    }
+}
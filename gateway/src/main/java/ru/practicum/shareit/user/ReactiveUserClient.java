@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ClientResilience;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.RequestCoalescer;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerBalancer;
+import ru.practicum.shareit.client.WireFormat;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(WebClient.Builder builder, ReactorClientHttpConnector connector,
+                              ResponseCache responseCache, RequestCoalescer requestCoalescer,
+                              ServerBalancer serverBalancer, ClientResilience clientResilience,
+                              WireFormat wireFormat) {
+        super(
+                builder
+                        .clientConnector(connector)
+                        .build(),
+                API_PREFIX,
+                responseCache,
+                requestCoalescer,
+                serverBalancer,
+                clientResilience,
+                wireFormat
+        );
+    }
+
+    public Mono<ResponseEntity<Object>> getUsers() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Object>> save(UserDto userDto) {
+        return post("", userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> saveAll(List<UserDto> userDtos) {
+        return post("/batch", userDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(long userId) {
+        return get("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUser(long userId) {
+        return delete("/" + userId)
+                .doOnNext(response -> invalidateAll());
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(long userId, UserDto userDto) {
+        return patch("/" + userId, userDto)
+                .doOnNext(response -> invalidateAll());
+    }
+}
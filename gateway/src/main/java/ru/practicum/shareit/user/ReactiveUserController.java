@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Controller
+@Profile("reactive")
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ReactiveUserController {
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final ReactiveUserClient userClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> findAll() {
+        return userClient.getUsers();
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> create(@Valid @RequestBody UserDto userDto) {
+        log.info("Получен запрос к эндпоинту: 'POST/users', Пользователь: Имя: {} и Email: {}",
+                userDto.getName(), userDto.getEmail());
+        return userClient.save(userDto);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createAll(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                  List<@Valid UserDto> userDtos) {
+        log.info("Получен запрос к эндпоинту: 'POST/users/batch', Пользователей: {}", userDtos.size());
+        return userClient.saveAll(userDtos);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Object>> findUserById(@Min(1) @NotNull @PathVariable long id) {
+        log.info("GET user id={}", id);
+        return userClient.getUser(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Object>> deleteUserById(@Min(1) @NotNull @PathVariable long id) {
+        return userClient.deleteUser(id);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<ResponseEntity<Object>> update(@Min(1) @NotNull @PathVariable long id, @RequestBody UserDto userDto) {
+        log.info("PATCH user id={}", id);
+        return userClient.updateUser(id, userDto);
+    }
+}
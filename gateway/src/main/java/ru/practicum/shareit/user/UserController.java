@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,15 +11,21 @@ import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
+@Profile("!reactive")
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
 public class UserController {
 
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final UserClient userClient;
 
     @GetMapping
@@ -33,6 +40,13 @@ public class UserController {
         return userClient.save(userDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(@RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                            List<@Valid UserDto> userDtos) {
+        log.info("Получен запрос к эндпоинту: 'POST/users/batch', Пользователей: {}", userDtos.size());
+        return userClient.saveAll(userDtos);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> findUserById(@Min(1) @NotNull @PathVariable long id) {
         log.info("GET user id={}", id);
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.exception.ErrorHandler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookingControllerTest {
+
+    private BookingClient bookingClient;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void beforeEach() {
+        bookingClient = mock(BookingClient.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(new BookingController(bookingClient))
+                .setControllerAdvice(new ErrorHandler())
+                .build();
+    }
+
+    @Test
+    void viewIsPassedToServerTest() throws Exception {
+        when(bookingClient.getBookings(1L, BookingState.ALL, 0, 10, null, BookingView.FULL))
+                .thenReturn(ResponseEntity.ok("[]"));
+        when(bookingClient.getBookingsByItemOwnerId(1L, BookingState.ALL, 0, 10, BookingView.COMPACT))
+                .thenReturn(ResponseEntity.ok("[]"));
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L).param("view", "FULL"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownViewIsRejectedTest() throws Exception {
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", 1L).param("view", "ful"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INCORRECT_PARAMETER"));
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", 1L).param("view", "short"))
+                .andExpect(status().isBadRequest());
+        verify(bookingClient, never()).getBookings(anyLong(), any(), any(), any(), any(), any());
+        verify(bookingClient, never()).getBookingsByItemOwnerId(anyLong(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class ItemClientCacheTest {
+
+    private static StubServer server;
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+        server = new StubServer("[]").withContentType("application/json");
+        registry.add("shareit-server.url", server::getUrl);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        server.close();
+    }
+
+    @Test
+    void itemCreationInvalidatesCachedSearchTest() {
+        ItemDto itemDto = new ItemDto(null, "Дрель", "Ударная", true, null);
+
+        assertSearchMissesAfter(() -> itemClient.save(1L, itemDto));
+        assertSearchMissesAfter(() -> itemClient.saveAll(1L, List.of(itemDto)));
+    }
+
+    private void assertSearchMissesAfter(Runnable write) {
+        itemClient.searchItem("дрель", 0, 10);
+        int hits = server.getHits();
+        itemClient.searchItem("дрель", 0, 10);
+        assertEquals(hits, server.getHits());
+
+        write.run();
+        itemClient.searchItem("дрель", 0, 10);
+
+        assertEquals(hits + 2, server.getHits());
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadShedderTest {
+
+    private static final long SLOW = Duration.ofMillis(100).toNanos();
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+
+    private ResilienceProperties.Route properties;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new ResilienceProperties.Route();
+        properties.setMaxConcurrentCalls(20);
+        properties.setSheddingMinLimit(2);
+        properties.setSheddingLatencyThreshold(Duration.ofMillis(50));
+    }
+
+    @Test
+    void slowCallShrinksLimitBelowInFlightTest() {
+        LoadShedder shedder = new LoadShedder(properties);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(shedder.tryAcquire());
+        }
+
+        shedder.release(SLOW);
+
+        assertEquals(9, shedder.getLimit());
+        assertEquals(9, shedder.getInFlight());
+    }
+
+    @Test
+    void limitDoesNotFallBelowMinimumTest() {
+        LoadShedder shedder = new LoadShedder(properties);
+
+        for (int i = 0; i < 5; i++) {
+            shedder.tryAcquire();
+            shedder.release(SLOW);
+        }
+
+        assertEquals(2, shedder.getLimit());
+    }
+
+    @Test
+    void limitRecoversOnceAverageLatencyDropsTest() {
+        LoadShedder shedder = new LoadShedder(properties);
+        shedder.tryAcquire();
+        shedder.release(SLOW);
+
+        shedder.tryAcquire();
+        shedder.release(FAST);
+        assertEquals(2, shedder.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            shedder.tryAcquire();
+            shedder.release(FAST);
+        }
+        assertEquals(20, shedder.getLimit());
+    }
+
+    @Test
+    void rejectCallsAboveLimitTest() {
+        LoadShedder shedder = new LoadShedder(properties);
+        shedder.tryAcquire();
+        shedder.release(SLOW);
+
+        assertTrue(shedder.tryAcquire());
+        assertTrue(shedder.tryAcquire());
+        assertFalse(shedder.tryAcquire());
+        assertEquals(2, shedder.getInFlight());
+
+        shedder.cancel();
+        assertTrue(shedder.tryAcquire());
+    }
+
+    @Test
+    void disabledShedderAdmitsEveryCallTest() {
+        properties.setSheddingEnabled(false);
+        LoadShedder shedder = new LoadShedder(properties);
+        shedder.tryAcquire();
+        shedder.release(SLOW);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(shedder.tryAcquire());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new RateLimitProperties();
+        RateLimitProperties.Limit bookings = new RateLimitProperties.Limit();
+        bookings.setRequestsPerSecond(1);
+        bookings.setBurst(3);
+        properties.getRoutes().put("bookings", bookings);
+    }
+
+    @Test
+    void tokenBucketAllowsBurstThenRefillsTest() {
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(10, 3, start);
+
+        assertTrue(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start));
+
+        long afterOneToken = start + TimeUnit.MILLISECONDS.toNanos(100);
+        assertTrue(bucket.tryAcquire(afterOneToken));
+        assertFalse(bucket.tryAcquire(afterOneToken));
+    }
+
+    @Test
+    void tokenBucketGrantsExactlyBurstUnderContentionTest() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.001, 1000, System.nanoTime());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < 500; j++) {
+                    if (bucket.tryAcquire(System.nanoTime())) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, granted.get());
+    }
+
+    @Test
+    void limitPerUserAndRouteTest() {
+        RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire("bookings", 1L);
+        }
+        assertThrows(TooManyRequestsException.class, () -> rateLimiter.acquire("bookings", 1L));
+
+        rateLimiter.acquire("bookings", 2L);
+        rateLimiter.acquire("items", 1L);
+        rateLimiter.acquire("bookings", null);
+        assertEquals(1, meterRegistry.counter("shareit.gateway.rate.limited", "route", "bookings").count());
+    }
+
+    @Test
+    void disabledLimiterTest() {
+        properties.setEnabled(false);
+        RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.acquire("bookings", 1L);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveGatewayTest {
+
+    private static final byte[] BODY = "[{\"id\":1,\"status\":\"APPROVED\",\"item\":\"Дрель\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    private static StubServer server;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) throws IOException {
+        server = new StubServer(BODY)
+                .withContentType(CONTENT_TYPE)
+                .withHeader(BaseClient.NEXT_CURSOR_HEADER, "next-page");
+        registry.add("shareit-server.url", server::getUrl);
+    }
+
+    @AfterAll
+    static void afterAll() {
+        server.close();
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        server.withStatus(200);
+    }
+
+    @Test
+    void userIdIsForwardedAndBodyIsPassedThroughTest() {
+        byte[] body = webTestClient.get().uri("/bookings?state=ALL&view=full")
+                .header("X-Sharer-User-Id", "7")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(CONTENT_TYPE)
+                .expectBody(byte[].class).returnResult().getResponseBody();
+
+        assertEquals("7", server.getLastRequestHeader("X-Sharer-User-Id"));
+        assertArrayEquals(BODY, body);
+    }
+
+    @Test
+    void nextCursorIsCopiedOnlyFromSuccessfulResponsesTest() {
+        webTestClient.get().uri("/bookings?cursor=first")
+                .header("X-Sharer-User-Id", "7")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(BaseClient.NEXT_CURSOR_HEADER, "next-page");
+
+        server.withStatus(400);
+        webTestClient.get().uri("/bookings?cursor=broken")
+                .header("X-Sharer-User-Id", "7")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectHeader().doesNotExist(BaseClient.NEXT_CURSOR_HEADER);
+    }
+
+    @Test
+    void itemCreationInvalidatesCachedSearchTest() {
+        int hits = server.getHits();
+
+        searchItems();
+        searchItems();
+        assertEquals(hits + 1, server.getHits());
+
+        webTestClient.post().uri("/items")
+                .header("X-Sharer-User-Id", "7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ItemDto(null, "Дрель", "Ударная", true, null))
+                .exchange()
+                .expectStatus().isOk();
+        searchItems();
+        assertEquals(hits + 3, server.getHits());
+    }
+
+    @Test
+    void unknownStateIsRejectedWithoutCallingServerTest() {
+        int hits = server.getHits();
+
+        webTestClient.get().uri("/bookings?state=UNSUPPORTED_STATUS")
+                .header("X-Sharer-User-Id", "7")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Unknown state: UNSUPPORTED_STATUS");
+
+        assertEquals(hits, server.getHits());
+    }
+
+    private void searchItems() {
+        webTestClient.get().uri("/items/search?text=дрель")
+                .header("X-Sharer-User-Id", "7")
+                .exchange()
+                .expectStatus().isOk();
+    }
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private static final int CALLERS = 8;
+    private static final long LATENCY_MILLIS = 300;
+
+    private final ResponseCache.Key key = new ResponseCache.Key("/items/1", null, 1L);
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private final RestTemplate rest = new RestTemplate();
+    private final WebClient webClient = WebClient.create();
+    private StubServer server;
+    private RequestCoalescer coalescer;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = new StubServer("ok").withLatency(LATENCY_MILLIS);
+        coalescer = new RequestCoalescer(true,
+                new StaticListableBeanFactory().getBeanProvider(CoalescingKeyFunction.class),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void afterEach() {
+        callers.shutdownNow();
+        server.close();
+    }
+
+    @Test
+    void concurrentCallsShareOneUpstreamRequestTest() throws Exception {
+        List<Object> results = callConcurrently(() -> coalescer.execute(key, this::restCall));
+
+        assertEquals(1, server.getHits());
+        results.forEach(result -> assertArrayEquals("ok".getBytes(), (byte[]) ((ResponseEntity<?>) result).getBody()));
+    }
+
+    @Test
+    void concurrentCallsShareOneUpstreamErrorTest() throws Exception {
+        server.withStatus(500);
+
+        List<Object> results = callConcurrently(() -> coalescer.execute(key, this::restCall));
+
+        assertEquals(1, server.getHits());
+        assertInstanceOf(HttpServerErrorException.class, results.get(0));
+        results.forEach(result -> assertSame(results.get(0), result));
+    }
+
+    @Test
+    void errorIsSharedAndKeyIsReleasedTest() throws Exception {
+        Supplier<ResponseEntity<Object>> failing = () -> {
+            restCall();
+            throw new StackOverflowError();
+        };
+
+        List<Object> results = callConcurrently(() -> coalescer.execute(key, failing));
+
+        assertEquals(1, server.getHits());
+        assertInstanceOf(StackOverflowError.class, results.get(0));
+        results.forEach(result -> assertSame(results.get(0), result));
+        coalescer.execute(key, this::restCall);
+        assertEquals(2, server.getHits());
+    }
+
+    @Test
+    void concurrentReactiveCallsShareOneUpstreamRequestTest() {
+        List<Object> results = reactiveCalls();
+
+        assertEquals(1, server.getHits());
+        assertEquals(CALLERS, results.size());
+        results.forEach(result -> assertArrayEquals("ok".getBytes(), (byte[]) ((ResponseEntity<?>) result).getBody()));
+    }
+
+    @Test
+    void concurrentReactiveCallsShareOneUpstreamErrorTest() {
+        server.withStatus(500);
+
+        List<Object> results = reactiveCalls();
+
+        assertEquals(1, server.getHits());
+        assertEquals(CALLERS, results.size());
+        assertInstanceOf(WebClientResponseException.class, results.get(0));
+        results.forEach(result -> assertSame(results.get(0), result));
+    }
+
+    private ResponseEntity<Object> restCall() {
+        return ResponseEntity.ok(rest.getForObject(server.getUrl(), byte[].class));
+    }
+
+    private List<Object> callConcurrently(Callable<Object> call) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(callers.submit(() -> {
+                start.await();
+                return call.call();
+            }));
+        }
+        start.countDown();
+        List<Object> results = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                results.add(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private List<Object> reactiveCalls() {
+        return Flux.range(0, CALLERS)
+                .flatMap(i -> coalescer.executeReactive(key, () -> webClient.get().uri(server.getUrl())
+                                .retrieve()
+                                .bodyToMono(byte[].class)
+                                .map(ResponseEntity::<Object>ok))
+                        .<Object>map(response -> response)
+                        .onErrorResume(Mono::just))
+                .collectList()
+                .block();
+    }
+}
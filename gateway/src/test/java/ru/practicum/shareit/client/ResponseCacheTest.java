@@ -0,0 +1,107 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private static final String SHORT = "short";
+    private static final String LONG = "long";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private ResponseCache cache;
+
+    @BeforeEach
+    void beforeEach() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.getRoutes().put(SHORT, route(Duration.ofSeconds(5)));
+        properties.getRoutes().put(LONG, route(Duration.ofSeconds(30)));
+        cache = new ResponseCache(properties, new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    void invalidateResourceWithParentsAndChildrenTest() {
+        ResponseCache.Key list = key("/items");
+        ResponseCache.Key item = key("/items/1");
+        ResponseCache.Key itemWithQuery = new ResponseCache.Key("/items/1?from={from}", Map.of("from", 0), 1L);
+        ResponseCache.Key comment = key("/items/1/comment");
+        ResponseCache.Key otherItem = key("/items/10");
+        ResponseCache.Key search = new ResponseCache.Key("/items/search?text={text}", Map.of("text", "дрель"), 1L);
+        ResponseCache.Key user = key("/users/1");
+        for (ResponseCache.Key key : new ResponseCache.Key[]{list, item, itemWithQuery, comment, otherItem, search,
+                user}) {
+            cache.put(SHORT, key, ResponseEntity.ok(key.getPath()));
+        }
+        cache.put(LONG, list, ResponseEntity.ok("list"));
+
+        cache.invalidate("/items/1");
+
+        assertNull(cache.get(SHORT, list));
+        assertNull(cache.get(LONG, list));
+        assertNull(cache.get(SHORT, item));
+        assertNull(cache.get(SHORT, itemWithQuery));
+        assertNull(cache.get(SHORT, comment));
+        assertNotNull(cache.get(SHORT, otherItem));
+        assertNotNull(cache.get(SHORT, search));
+        assertNotNull(cache.get(SHORT, user));
+    }
+
+    @Test
+    void invalidateChildDropsParentListsOnlyTest() {
+        ResponseCache.Key list = key("/items");
+        ResponseCache.Key item = key("/items/1");
+        ResponseCache.Key otherItem = key("/items/2");
+        cache.put(SHORT, list, ResponseEntity.ok("list"));
+        cache.put(SHORT, item, ResponseEntity.ok("item"));
+        cache.put(SHORT, otherItem, ResponseEntity.ok("other"));
+
+        cache.invalidate("/items/1/comment");
+
+        assertNull(cache.get(SHORT, list));
+        assertNull(cache.get(SHORT, item));
+        assertNotNull(cache.get(SHORT, otherItem));
+    }
+
+    @Test
+    void ttlIsConfiguredPerRouteTest() {
+        ResponseCache.Key item = key("/items/1");
+        cache.put(SHORT, item, ResponseEntity.ok("short"));
+        cache.put(LONG, item, ResponseEntity.ok("long"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        assertNull(cache.get(SHORT, item));
+        assertNotNull(cache.get(LONG, item));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(25));
+        assertNull(cache.get(LONG, item));
+    }
+
+    @Test
+    void onlySuccessfulResponsesAreCachedTest() {
+        ResponseCache.Key item = key("/items/1");
+        cache.put(SHORT, item, ResponseEntity.notFound().build());
+        cache.put("unknown", item, ResponseEntity.ok("item"));
+
+        assertNull(cache.get(SHORT, item));
+        assertNull(cache.get("unknown", item));
+    }
+
+    private static ResponseCache.Key key(String path) {
+        return new ResponseCache.Key(path, null, 1L);
+    }
+
+    private static ResponseCacheProperties.Route route(Duration ttl) {
+        ResponseCacheProperties.Route route = new ResponseCacheProperties.Route();
+        route.setTtl(ttl);
+        return route;
+    }
+}
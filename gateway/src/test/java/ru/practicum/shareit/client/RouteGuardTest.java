@@ -0,0 +1,192 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteGuardTest {
+
+    private final RestTemplate rest = new RestTemplate();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ResilienceProperties.Route properties;
+    private StubServer server;
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = new StubServer("ok");
+        properties = new ResilienceProperties.Route();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setMaxRetries(0);
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.close();
+    }
+
+    @Test
+    void circuitOpensAndFailsFastTest() {
+        server.withStatus(500);
+        RouteGuard guard = guard();
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, guard.execute(true, this::call).getStatusCode());
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        assertThrows(ServiceUnavailableException.class, () -> guard.execute(true, this::call));
+        assertEquals(4, server.getHits());
+        assertEquals(1, meterRegistry.counter("shareit.gateway.resilience.circuit.rejected", "route", "items")
+                .count());
+    }
+
+    @Test
+    void circuitClosesAfterSuccessfulTrialCallsTest() throws InterruptedException {
+        properties.setOpenDuration(Duration.ofMillis(100));
+        properties.setHalfOpenCalls(2);
+        server.withStatus(503);
+        RouteGuard guard = guard();
+        for (int i = 0; i < 4; i++) {
+            guard.execute(true, this::call);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+
+        server.withStatus(200);
+        TimeUnit.MILLISECONDS.sleep(150);
+        guard.execute(true, this::call);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, guard.getCircuitState());
+        guard.execute(true, this::call);
+
+        assertEquals(CircuitBreaker.State.CLOSED, guard.getCircuitState());
+    }
+
+    @Test
+    void circuitReopensWhenTrialCallFailsTest() throws InterruptedException {
+        properties.setOpenDuration(Duration.ofMillis(100));
+        server.withStatus(500);
+        RouteGuard guard = guard();
+        for (int i = 0; i < 4; i++) {
+            guard.execute(true, this::call);
+        }
+
+        TimeUnit.MILLISECONDS.sleep(150);
+        guard.execute(true, this::call);
+
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        assertThrows(ServiceUnavailableException.class, () -> guard.execute(true, this::call));
+    }
+
+    @Test
+    void bulkheadRejectsExcessConcurrentCallsTest() throws Exception {
+        properties.setMaxConcurrentCalls(1);
+        properties.setMaxWait(Duration.ZERO);
+        server.withLatency(500);
+        RouteGuard guard = guard();
+
+        CompletableFuture<ResponseEntity<Object>> slowCall = CompletableFuture.supplyAsync(
+                () -> guard.execute(true, this::call));
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThrows(ServiceUnavailableException.class, () -> guard.execute(true, this::call));
+        assertEquals(HttpStatus.OK, slowCall.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(HttpStatus.OK, guard.execute(true, this::call).getStatusCode());
+    }
+
+    @Test
+    void retryBudgetLimitsRetriesTest() {
+        properties.setMinimumCalls(100);
+        properties.setMaxRetries(3);
+        properties.setRetryBudgetRatio(0);
+        properties.setRetryBudgetMaxTokens(2);
+        server.withStatus(502);
+        RouteGuard guard = guard();
+
+        guard.execute(true, this::call);
+        assertEquals(3, server.getHits());
+        guard.execute(true, this::call);
+        assertEquals(4, server.getHits());
+        assertEquals(2, meterRegistry.counter("shareit.gateway.resilience.retries", "route", "items").count());
+    }
+
+    @Test
+    void doNotRetryMutatingCallsTest() {
+        properties.setMaxRetries(3);
+        server.withStatus(500);
+        RouteGuard guard = guard();
+
+        guard.execute(false, this::call);
+
+        assertEquals(1, server.getHits());
+    }
+
+    @Test
+    void reactiveCircuitOpensAndRetriesTest() {
+        properties.setMaxRetries(1);
+        server.withStatus(500);
+        RouteGuard guard = guard();
+        WebClient webClient = WebClient.create(server.getUrl());
+
+        for (int i = 0; i < 2; i++) {
+            ResponseEntity<Object> response = guard.executeReactive(true, () -> webClient.get()
+                            .exchangeToMono(clientResponse -> clientResponse.toEntity(byte[].class)
+                                    .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                                            .<Object>body(entity.getBody()))))
+                    .block(Duration.ofSeconds(5));
+            assertNotNull(response);
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        }
+
+        assertEquals(4, server.getHits());
+        assertEquals(CircuitBreaker.State.OPEN, guard.getCircuitState());
+        assertThrows(ServiceUnavailableException.class,
+                () -> guard.executeReactive(true, () -> webClient.get().retrieve().toEntity(Object.class))
+                        .block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void shedExcessInFlightCallsTest() throws Exception {
+        properties.setMaxConcurrentCalls(20);
+        properties.setMaxWait(Duration.ZERO);
+        properties.setSheddingMinLimit(1);
+        properties.setSheddingLatencyThreshold(Duration.ofMillis(50));
+        server.withLatency(300);
+        RouteGuard guard = guard();
+        guard.execute(true, this::call);
+
+        CompletableFuture<ResponseEntity<Object>> slowCall = CompletableFuture.supplyAsync(
+                () -> guard.execute(true, this::call));
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThrows(ServiceUnavailableException.class, () -> guard.execute(true, this::call));
+        assertEquals(HttpStatus.OK, slowCall.get(5, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(1, meterRegistry.counter("shareit.gateway.resilience.shed", "route", "items").count());
+    }
+
+    private RouteGuard guard() {
+        return new RouteGuard("items", properties, new RateLimiter(new RateLimitProperties(), meterRegistry),
+                meterRegistry);
+    }
+
+    private ResponseEntity<Object> call() {
+        try {
+            return new ResponseEntity<>(rest.getForObject(server.getUrl(), String.class), HttpStatus.OK);
+        } catch (HttpStatusCodeException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsString(), e.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.DefaultResponseErrorHandler;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServerBalancerTest {
+
+    private final List<StubServer> servers = new ArrayList<>();
+    private final RestTemplate rest = new RestTemplate();
+    private final RestTemplate lenientRest = new RestTemplateBuilder()
+            .errorHandler(new DefaultResponseErrorHandler() {
+                @Override
+                public boolean hasError(ClientHttpResponse response) {
+                    return false;
+                }
+            })
+            .build();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceProperties resilienceProperties = new ResilienceProperties();
+    private LoadBalancerProperties properties;
+
+    @BeforeEach
+    void beforeEach() {
+        properties = new LoadBalancerProperties();
+        properties.getHedging().setMinDelay(Duration.ofMillis(50));
+        properties.getHedging().setMaxDelay(Duration.ofMillis(100));
+    }
+
+    @AfterEach
+    void afterEach() {
+        servers.forEach(StubServer::close);
+    }
+
+    @Test
+    void chooseLeastOutstandingEndpointTest() throws IOException {
+        ServerBalancer balancer = new ServerBalancer(List.of(stub("a", 0), stub("b", 0)), properties,
+                resilienceProperties, meterRegistry);
+        ServerEndpoint a = balancer.getEndpoints().get(0);
+        ServerEndpoint b = balancer.getEndpoints().get(1);
+
+        a.started();
+        assertSame(b, balancer.choose(null));
+        b.started();
+        b.started();
+        assertSame(a, balancer.choose(null));
+        assertSame(b, balancer.choose(a));
+    }
+
+    @Test
+    void ejectFailingEndpointTest() throws IOException {
+        String down = stub("down", 0);
+        servers.get(0).close();
+        ServerBalancer balancer = new ServerBalancer(List.of(down, stub("up", 0)), properties,
+                resilienceProperties, meterRegistry);
+
+        int failures = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                assertEquals("up", balancer.execute(true, url -> rest.getForObject(url, String.class)));
+            } catch (ResourceAccessException e) {
+                failures++;
+            }
+        }
+
+        assertEquals(properties.getFailureThreshold(), failures);
+        assertFalse(balancer.getEndpoints().get(0).isAvailable(System.nanoTime()));
+    }
+
+    @Test
+    void ejectEndpointAnsweringServerErrorTest() throws IOException {
+        String unavailable = stub("unavailable", 0);
+        servers.get(0).withStatus(503);
+        ServerBalancer balancer = new ServerBalancer(List.of(unavailable, stub("up", 0)), properties,
+                resilienceProperties, meterRegistry);
+
+        int failures = 0;
+        for (int i = 0; i < 20; i++) {
+            try {
+                assertArrayEquals("up".getBytes(), (byte[]) balancer.execute(true, this::exchange).getBody());
+            } catch (ServerErrorException e) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getResponse().getStatusCode());
+                failures++;
+            }
+        }
+
+        assertEquals(properties.getFailureThreshold(), failures);
+        assertFalse(balancer.getEndpoints().get(0).isAvailable(System.nanoTime()));
+    }
+
+    @Test
+    void hedgingDoesNotAcceptServerErrorTest() throws IOException {
+        properties.getHedging().setEnabled(true);
+        String unavailable = stub("unavailable", 200);
+        servers.get(0).withStatus(503);
+        ServerBalancer balancer = new ServerBalancer(List.of(unavailable, stub("up", 400)), properties,
+                resilienceProperties, meterRegistry);
+        balancer.getEndpoints().get(1).started();
+
+        ResponseEntity<Object> response = balancer.execute(true, this::exchange);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, meterRegistry.counter("shareit.gateway.server.hedged").count());
+    }
+
+    @Test
+    void hedgingDoesNotAcceptServerErrorReactiveTest() throws IOException {
+        properties.getHedging().setEnabled(true);
+        String unavailable = stub("unavailable", 200);
+        servers.get(0).withStatus(503);
+        ServerBalancer balancer = new ServerBalancer(List.of(unavailable, stub("up", 400)), properties,
+                resilienceProperties, meterRegistry);
+        balancer.getEndpoints().get(1).started();
+        WebClient webClient = WebClient.create();
+
+        ResponseEntity<Object> response = balancer.executeReactive(true, url -> webClient.get().uri(url)
+                        .exchangeToMono(clientResponse -> clientResponse.toEntity(byte[].class))
+                        .map(entity -> BaseClient.failOnServerError(
+                                ResponseEntity.status(entity.getStatusCode()).body(entity.getBody()))))
+                .block(Duration.ofSeconds(5));
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void hedgeSlowEndpointTest() throws IOException {
+        properties.getHedging().setEnabled(true);
+        ServerBalancer balancer = new ServerBalancer(List.of(stub("slow", 5000), stub("fast", 0)), properties,
+                resilienceProperties, meterRegistry);
+        balancer.getEndpoints().get(1).started();
+
+        long start = System.nanoTime();
+        String body = balancer.execute(true, url -> rest.getForObject(url, String.class));
+
+        assertEquals("fast", body);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+        assertEquals(1, meterRegistry.counter("shareit.gateway.server.hedged").count());
+    }
+
+    @Test
+    void hedgeSlowEndpointReactiveTest() throws IOException {
+        properties.getHedging().setEnabled(true);
+        ServerBalancer balancer = new ServerBalancer(List.of(stub("slow", 5000), stub("fast", 0)), properties,
+                resilienceProperties, meterRegistry);
+        balancer.getEndpoints().get(1).started();
+        WebClient webClient = WebClient.create();
+
+        long start = System.nanoTime();
+        String body = balancer.executeReactive(true, url -> webClient.get().uri(url)
+                        .retrieve()
+                        .bodyToMono(String.class))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals("fast", body);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+        assertEquals(1, meterRegistry.counter("shareit.gateway.server.hedged").count());
+    }
+
+    @Test
+    void abortLosingHedgedRequestTest() throws Exception {
+        properties.getHedging().setEnabled(true);
+        ServerBalancer balancer = new ServerBalancer(List.of(stub("slow", 5000), stub("fast", 0)), properties,
+                resilienceProperties, meterRegistry);
+        ServerEndpoint slow = balancer.getEndpoints().get(0);
+        balancer.getEndpoints().get(1).started();
+        RestTemplate abortable = new RestTemplate(new AbortableRequestFactory(HttpClients.createDefault()));
+
+        for (int i = 0; i < properties.getFailureThreshold(); i++) {
+            assertEquals("fast", balancer.execute(true, url -> abortable.getForObject(url, String.class)));
+            long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+            while (slow.getOutstanding() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(0, slow.getOutstanding());
+        }
+        assertTrue(slow.isAvailable(System.nanoTime()));
+    }
+
+    @Test
+    void hedgingThreadsAreBoundedByRouteLimitsTest() throws IOException {
+        resilienceProperties.getRoutes().put("items", new ResilienceProperties.Route());
+        resilienceProperties.getRoutes().put("users", new ResilienceProperties.Route());
+        resilienceProperties.getRoutes().get("items").setMaxConcurrentCalls(3);
+        resilienceProperties.getRoutes().get("users").setMaxConcurrentCalls(2);
+
+        ServerBalancer balancer = new ServerBalancer(List.of(stub("a", 0)), properties, resilienceProperties,
+                meterRegistry);
+
+        assertEquals(10, balancer.getHedgingThreads());
+    }
+
+    @Test
+    void doNotHedgeMutatingRequestsTest() throws IOException {
+        properties.getHedging().setEnabled(true);
+        ServerBalancer balancer = new ServerBalancer(List.of(stub("slow", 300), stub("fast", 0)), properties,
+                resilienceProperties, meterRegistry);
+        balancer.getEndpoints().get(1).started();
+
+        assertEquals("slow", balancer.execute(false, url -> rest.getForObject(url, String.class)));
+        assertEquals(0, meterRegistry.counter("shareit.gateway.server.hedged").count());
+    }
+
+    private ResponseEntity<Object> exchange(String url) {
+        ResponseEntity<byte[]> response = lenientRest.getForEntity(url, byte[].class);
+        return BaseClient.failOnServerError(ResponseEntity.status(response.getStatusCode()).body(response.getBody()));
+    }
+
+    private String stub(String name, long latencyMillis) throws IOException {
+        StubServer server = new StubServer(name).withLatency(latencyMillis);
+        servers.add(server);
+        return server.getUrl();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class StubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final Map<String, String> responseHeaders = new ConcurrentHashMap<>();
+    private volatile long latencyMillis;
+    private volatile int status = 200;
+    private volatile String contentType = "text/plain";
+    private volatile Headers lastRequestHeaders;
+
+    StubServer(String body) throws IOException {
+        this(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    StubServer(byte[] body) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            lastRequestHeaders = exchange.getRequestHeaders();
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            responseHeaders.forEach(exchange.getResponseHeaders()::set);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    StubServer withLatency(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+        return this;
+    }
+
+    StubServer withStatus(int status) {
+        this.status = status;
+        return this;
+    }
+
+    StubServer withContentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    StubServer withHeader(String name, String value) {
+        responseHeaders.put(name, value);
+        return this;
+    }
+
+    String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+    String getLastRequestHeader(String name) {
+        Headers headers = lastRequestHeaders;
+        return headers != null ? headers.getFirst(name) : null;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
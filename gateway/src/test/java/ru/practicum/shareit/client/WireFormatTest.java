@@ -0,0 +1,57 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WireFormatTest {
+
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+
+    @Test
+    void smileResponseIsTranscodedToEquivalentJsonTest() throws Exception {
+        WireFormat wireFormat = new WireFormat("smile", new Jackson2ObjectMapperBuilder());
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", 1);
+        item.put("name", "Дрель");
+        item.put("available", true);
+        item.put("lastBooking", null);
+        item.put("comments", List.of(Map.of("text", "Отлично", "created", "2022-09-01T10:00:00")));
+        List<Map<String, Object>> items = List.of(item, item, item);
+
+        byte[] smile = wireFormat.getSmileMapper().writeValueAsBytes(items);
+        byte[] json = wireFormat.toJson(smile);
+
+        assertEquals(jsonMapper.valueToTree(items), jsonMapper.readTree(json));
+        assertTrue(smile.length < jsonMapper.writeValueAsBytes(items).length);
+    }
+
+    @Test
+    void headersFollowConfiguredFormatTest() {
+        HttpHeaders smileHeaders = new HttpHeaders();
+        new WireFormat("smile", new Jackson2ObjectMapperBuilder()).applyHeaders(smileHeaders);
+        assertEquals(WireFormat.APPLICATION_SMILE, smileHeaders.getContentType());
+        assertEquals(List.of(WireFormat.APPLICATION_SMILE, MediaType.APPLICATION_JSON), smileHeaders.getAccept());
+
+        HttpHeaders jsonHeaders = new HttpHeaders();
+        WireFormat json = new WireFormat("json", new Jackson2ObjectMapperBuilder());
+        json.applyHeaders(jsonHeaders);
+        assertEquals(MediaType.APPLICATION_JSON, jsonHeaders.getContentType());
+        assertEquals(List.of(MediaType.APPLICATION_JSON), jsonHeaders.getAccept());
+        assertTrue(json.isSmile(MediaType.parseMediaType("application/x-jackson-smile")));
+        assertFalse(json.isSmile(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void unknownFormatIsRejectedTest() {
+        assertThrows(IllegalArgumentException.class, () -> new WireFormat("xml", new Jackson2ObjectMapperBuilder()));
+    }
+}
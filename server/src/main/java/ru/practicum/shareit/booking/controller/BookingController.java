@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoSimple;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingException;
 
 import java.util.List;
 
@@ -14,6 +17,9 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    private static final String COMPACT_VIEW = "compact";
+    private static final String FULL_VIEW = "full";
+
     private final BookingService bookingService;
 
     @Autowired
@@ -21,22 +27,50 @@ public class BookingController {
         this.bookingService = bookingService;
     }
 
+    @GetMapping(params = "view=" + FULL_VIEW)
+    public ResponseEntity<List<BookingDto>> findAllFull(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                        @RequestParam(defaultValue = "ALL") String state,
+                                                        @RequestParam(defaultValue = "0") int from,
+                                                        @RequestParam(defaultValue = "20") int size,
+                                                        @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return bookingService.findAllByCursor(userId, state, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(bookingService.findAll(userId, state, from, size));
+    }
+
     @GetMapping
-    public List<BookingDto> findAll(@RequestHeader("X-Sharer-User-Id") long userId,
-                                    @RequestParam(defaultValue = "ALL") String state,
-                                    @RequestParam(defaultValue = "0") int from,
-                                    @RequestParam(defaultValue = "20") int size) {
-        return bookingService.findAll(userId, state, from, size);
+    public ResponseEntity<List<BookingShortDto>> findAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                         @RequestParam(defaultValue = "ALL") String state,
+                                                         @RequestParam(defaultValue = "0") int from,
+                                                         @RequestParam(defaultValue = "20") int size,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = COMPACT_VIEW) String view) {
+        checkCompactView(view);
+        if (cursor != null) {
+            return bookingService.findAllShortByCursor(userId, state, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(bookingService.findAllShort(userId, state, from, size));
     }
 
-    @GetMapping("/owner")
-    public List<BookingDto> findAllByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
-                                           @RequestParam(defaultValue = "ALL") String state,
-                                           @RequestParam(defaultValue = "0") int from,
-                                           @RequestParam(defaultValue = "20") int size) {
+    @GetMapping(path = "/owner", params = "view=" + FULL_VIEW)
+    public List<BookingDto> findAllFullByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                               @RequestParam(defaultValue = "ALL") String state,
+                                               @RequestParam(defaultValue = "0") int from,
+                                               @RequestParam(defaultValue = "20") int size) {
         return bookingService.findAllByItemOwnerId(userId, state, from, size);
     }
 
+    @GetMapping("/owner")
+    public List<BookingShortDto> findAllByOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                @RequestParam(defaultValue = "ALL") String state,
+                                                @RequestParam(defaultValue = "0") int from,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @RequestParam(defaultValue = COMPACT_VIEW) String view) {
+        checkCompactView(view);
+        return bookingService.findAllShortByItemOwnerId(userId, state, from, size);
+    }
+
     @PostMapping
     public BookingDto create(@RequestBody BookingDtoSimple bookingDtoSimple,
                              @RequestHeader("X-Sharer-User-Id") long userId) {
@@ -44,6 +78,13 @@ public class BookingController {
         return bookingService.save(bookingDtoSimple, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingDto> createAll(@RequestBody List<BookingDtoSimple> bookingDtoSimples,
+                                      @RequestHeader("X-Sharer-User-Id") long userId) {
+        log.info("Получен запрос к эндпоинту: 'POST/bookings/batch', Бронирований: {}", bookingDtoSimples.size());
+        return bookingService.saveAll(bookingDtoSimples, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approve(@RequestHeader("X-Sharer-User-Id") long userId,
                               @PathVariable long bookingId,
@@ -63,4 +104,11 @@ public class BookingController {
         bookingService.deleteById(id);
     }
 
+    // view=full обрабатывают отдельные методы, сюда попадают compact и неизвестные значения
+    private static void checkCompactView(String view) {
+        if (!COMPACT_VIEW.equals(view)) {
+            log.error("Unknown view: {}", view);
+            throw new BookingException("Unknown view: " + view);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingShortDto {
+
+    private Long id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private ItemShort item;
+    private BookerShort booker;
+    private Status status;
+
+    public BookingShortDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                           Long itemId, String itemName, Long bookerId) {
+        this(id, start, end, new ItemShort(itemId, itemName), new BookerShort(bookerId), status);
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemShort {
+        private Long id;
+        private String name;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class BookerShort {
+        private Long id;
+    }
+}
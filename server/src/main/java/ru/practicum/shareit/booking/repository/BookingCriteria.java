@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class BookingCriteria {
+
+    private Long bookerId;
+    private Long ownerId;
+    private Status state;
+    private LocalDateTime now;
+    private LocalDateTime afterStart;
+    private Long afterId;
+
+    public static BookingCriteria forBooker(long bookerId, Status state, LocalDateTime now) {
+        return new BookingCriteria(bookerId, null, state, now, null, null);
+    }
+
+    public static BookingCriteria forOwner(long ownerId, Status state, LocalDateTime now) {
+        return new BookingCriteria(null, ownerId, state, now, null, null);
+    }
+
+    public BookingCriteria after(LocalDateTime start, Long id) {
+        return new BookingCriteria(bookerId, ownerId, state, now, start, id);
+    }
+}
@@ -1,39 +1,59 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findByBookerId(long userId, Pageable pageable);
+    @Override
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findById(Long bookingId);
 
-    List<Booking> searchBookingByItemOwnerId(long id, Pageable pageable);
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    List<Booking> findByBookerId(long userId, Pageable pageable);
 
     List<Booking> searchBookingByBookerIdAndItemIdAndEndIsBeforeAndStatus(long id, long itemId,
                                                                           LocalDateTime time, Status status);
 
-    List<Booking> searchBookingByItemOwnerIdAndStartIsAfter(long id,
-                                                            LocalDateTime time,
-                                                            Pageable pageable);
-
+    @EntityGraph(Booking.DETAILS_GRAPH)
     List<Booking> findByBookerIdAndStartAfter(long userId, LocalDateTime time,
                                               Pageable pageable);
 
-    List<Booking> findBookingsByItemIdAndEndIsBeforeOrderByEndDesc(long id, LocalDateTime time);
-
-    List<Booking> findBookingsByItemIdAndStartIsAfterOrderByStartDesc(long id, LocalDateTime time);
-
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoForItem(b.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.end < ?2 " +
+            "order by b.end desc")
+    List<BookingDtoForItem> findLastBookingForItem(long itemId, LocalDateTime time, Pageable pageable);
+
+    @Query("select new ru.practicum.shareit.booking.dto.BookingDtoForItem(b.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.start > ?2 " +
+            "order by b.start asc")
+    List<BookingDtoForItem> findNextBookingForItem(long itemId, LocalDateTime time, Pageable pageable);
+
+    @Query("select min(case when b.start > ?2 then b.start else b.end end) " +
+            "from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.end > ?2")
+    Optional<LocalDateTime> findNextBoundaryForItem(long itemId, LocalDateTime time);
+
+    @EntityGraph(Booking.DETAILS_GRAPH)
     List<Booking> findBookingsByBookerIdAndStatus(long userId, Status status,
                                                   Pageable pageable);
 
-    List<Booking> findBookingsByItemOwnerId(long id, Pageable pageable);
-
+    @EntityGraph(Booking.DETAILS_GRAPH)
     @Query("select b " +
             "from Booking b left join User as us on b.booker.id = us.id " +
             "where us.id = ?1 " +
@@ -42,19 +62,21 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findCurrentBookingsByBookerId(long userId, LocalDateTime time,
                                                 Pageable pageable);
 
-    @Query("select b " +
-            "from Booking b left join Item as i on b.item.id = i.id " +
-            "left join User as us on i.owner.id = us.id " +
-            "where us.id = ?1 " +
-            "and ?2 between b.start and b.end " +
-            "order by b.start DESC")
-    List<Booking> findCurrentBookingsByItemOwnerId(long userId, LocalDateTime time,
-                                                   Pageable pageable);
-
+    @EntityGraph(Booking.DETAILS_GRAPH)
     List<Booking> findBookingsByBookerIdAndEndIsBefore(long userId, LocalDateTime time,
                                                        Pageable pageable);
 
-    List<Booking> findBookingsByItemOwnerIdAndEndIsBefore(long userId,
-                                                          LocalDateTime time,
-                                                          Pageable pageable);
+    @Query("select b " +
+            "from Booking b join fetch b.booker " +
+            "where b.item.id in ?1 " +
+            "and b.end = (select max(bl.end) from Booking bl " +
+            "where bl.item.id = b.item.id and bl.end < ?2)")
+    List<Booking> findLastBookingsByItemIds(Collection<Long> itemIds, LocalDateTime time);
+
+    @Query("select b " +
+            "from Booking b join fetch b.booker " +
+            "where b.item.id in ?1 " +
+            "and b.start = (select min(bn.start) from Booking bn " +
+            "where bn.item.id = b.item.id and bn.start > ?2)")
+    List<Booking> findNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime time);
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<Booking> findByCriteria(BookingCriteria criteria, long offset, int limit);
+
+    List<BookingShortDto> findShortByCriteria(BookingCriteria criteria, long offset, int limit);
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Booking> findByCriteria(BookingCriteria criteria, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = (Join<Booking, Item>) booking.<Booking, Item>fetch("item");
+        item.fetch("owner");
+        item.fetch("itemRequest", JoinType.LEFT).fetch("requestor", JoinType.LEFT);
+        booking.fetch("booker");
+
+        query.select(booking);
+        return getPage(query, cb, booking, item, criteria, offset, limit);
+    }
+
+    @Override
+    public List<BookingShortDto> findShortByCriteria(BookingCriteria criteria, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingShortDto> query = cb.createQuery(BookingShortDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> item = booking.join("item");
+
+        query.select(cb.construct(BookingShortDto.class,
+                booking.get("id"),
+                booking.get("start"),
+                booking.get("end"),
+                booking.get("status"),
+                item.get("id"),
+                item.get("name"),
+                booking.get("booker").get("id")));
+        return getPage(query, cb, booking, item, criteria, offset, limit);
+    }
+
+    private <T> List<T> getPage(CriteriaQuery<T> query, CriteriaBuilder cb, Root<Booking> booking,
+                                Join<Booking, Item> item, BookingCriteria criteria, long offset, int limit) {
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+        LocalDateTime now = criteria.getNow();
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.getBookerId() != null) {
+            predicates.add(cb.equal(booking.get("booker").get("id"), criteria.getBookerId()));
+        }
+        if (criteria.getOwnerId() != null) {
+            predicates.add(cb.equal(item.get("owner").get("id"), criteria.getOwnerId()));
+        }
+        switch (criteria.getState()) {
+            case ALL:
+                break;
+            case CURRENT:
+                predicates.add(cb.lessThanOrEqualTo(start, now));
+                predicates.add(cb.greaterThanOrEqualTo(end, now));
+                break;
+            case PAST:
+                predicates.add(cb.lessThan(end, now));
+                break;
+            case FUTURE:
+                predicates.add(cb.greaterThan(start, now));
+                break;
+            case WAITING:
+            case REJECTED:
+                predicates.add(cb.equal(booking.<Status>get("status"), criteria.getState()));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported booking state: " + criteria.getState());
+        }
+        if (criteria.getAfterId() != null) {
+            predicates.add(cb.or(cb.lessThan(start, criteria.getAfterStart()),
+                    cb.and(cb.equal(start, criteria.getAfterStart()), cb.lessThan(id, criteria.getAfterId()))));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+        return entityManager.createQuery(query)
+                .setFirstResult((int) offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
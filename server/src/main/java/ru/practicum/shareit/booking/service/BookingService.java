@@ -2,6 +2,8 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoSimple;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -11,8 +13,16 @@ public interface BookingService {
 
     List<BookingDto> findAll(long userId, String state, int from, int size);
 
+    CursorPage<BookingDto> findAllByCursor(long userId, String state, String cursor, int size);
+
+    List<BookingShortDto> findAllShort(long userId, String state, int from, int size);
+
+    CursorPage<BookingShortDto> findAllShortByCursor(long userId, String state, String cursor, int size);
+
     BookingDto save(BookingDtoSimple bookingDtoSimple, long userId);
 
+    List<BookingDto> saveAll(List<BookingDtoSimple> bookingDtoSimples, long userId);
+
     BookingDto update(long bookingId, BookingDto bookingDto);
 
     void deleteById(long bookingId);
@@ -21,4 +31,6 @@ public interface BookingService {
 
     List<BookingDto> findAllByItemOwnerId(long userId, String state, int from, int size);
 
+    List<BookingShortDto> findAllShortByItemOwnerId(long userId, String state, int from, int size);
+
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -9,36 +10,58 @@ import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoSimple;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingCriteria;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.ItemException;
 import ru.practicum.shareit.exception.StorageException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.view.ItemViewChangedEvent;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class BookingServiceImpl implements BookingService {
 
+    private static final Set<Status> STATES = EnumSet.of(Status.ALL, Status.CURRENT, Status.PAST,
+            Status.FUTURE, Status.WAITING, Status.REJECTED);
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
     private final BookingMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserExistenceService userExistence;
 
     @Autowired
     public BookingServiceImpl(BookingRepository bookingRepository, ItemRepository itemRepository,
-                              UserRepository userRepository, BookingMapper mapper) {
+                              UserRepository userRepository, BookingMapper mapper,
+                              ApplicationEventPublisher eventPublisher, UserExistenceService userExistence) {
         this.bookingRepository = bookingRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
         this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.userExistence = userExistence;
     }
 
     @Override
@@ -58,7 +81,7 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public List<BookingDto> findAll(long userId, String state, int from, int size) {
         log.info("Запрос на поиск всех аренд вещей");
-        userRepository.findById(userId).orElseThrow(() -> new StorageException("Incorrect userId"));
+        checkUserExists(userId);
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size, Sort.by("start").descending());
 
@@ -97,29 +120,112 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    @Override
+    public CursorPage<BookingDto> findAllByCursor(long userId, String state, String cursor, int size) {
+        log.info("Запрос на поиск аренд вещей по курсору для userId: {}", userId);
+        BookingCriteria criteria = toBookerCursorCriteria(userId, state, cursor);
+        return CursorPage.of(bookingRepository.findByCriteria(criteria, 0, size), size,
+                mapper::toBookingDto, booking -> new KeysetCursor(booking.getStart(), booking.getId()));
+    }
+
+    @Override
+    public List<BookingShortDto> findAllShort(long userId, String state, int from, int size) {
+        log.info("Запрос на поиск всех аренд вещей в кратком виде для userId: {}", userId);
+        checkUserExists(userId);
+        Status status = toState(state);
+        return bookingRepository.findShortByCriteria(BookingCriteria.forBooker(userId, status, LocalDateTime.now()),
+                (long) (from / size) * size, size);
+    }
+
+    @Override
+    public CursorPage<BookingShortDto> findAllShortByCursor(long userId, String state, String cursor, int size) {
+        log.info("Запрос на поиск аренд вещей в кратком виде по курсору для userId: {}", userId);
+        BookingCriteria criteria = toBookerCursorCriteria(userId, state, cursor);
+        return CursorPage.of(bookingRepository.findShortByCriteria(criteria, 0, size), size,
+                Function.identity(), booking -> new KeysetCursor(booking.getStart(), booking.getId()));
+    }
+
+    private BookingCriteria toBookerCursorCriteria(long userId, String state, String cursor) {
+        checkUserExists(userId);
+        Status status = toState(state);
+        KeysetCursor after = KeysetCursor.decodeTimed(cursor);
+        return BookingCriteria.forBooker(userId, status, LocalDateTime.now())
+                .after(after.getTime(), after.getId());
+    }
+
+    private Status toState(String state) {
+        return Arrays.stream(Status.values())
+                .filter(status -> status.name().equals(state))
+                .filter(STATES::contains)
+                .findFirst()
+                .orElseThrow(() -> {
+                    log.error("Unknown state: UNSUPPORTED_STATUS");
+                    return new BookingException("Unknown state: UNSUPPORTED_STATUS");
+                });
+    }
+
     @Override
     public BookingDto save(BookingDtoSimple bookingDtoSimple, long userId) {
         log.info("Запрошен метод save для UserId: {}", userId);
-        if (bookingDtoSimple.getEnd().isBefore(bookingDtoSimple.getStart())) {
-            log.error("Incorrect end time");
-            throw new BookingException("Incorrect end time");
-        }
+        checkDates(bookingDtoSimple);
         Booking booking = mapper.fromSimpleToBooking(bookingDtoSimple);
         booking.setBooker(userRepository.findById(userId).orElseThrow());
-        Item item = itemRepository.findById(bookingDtoSimple.getItemId())
+        Item item = itemRepository.findDetailedById(bookingDtoSimple.getItemId())
                 .orElseThrow(() -> new StorageException("Вещи с Id = "
                         + bookingDtoSimple.getItemId() + " нет в базе данных"));
+        checkBookable(item, userId);
+        booking.setItem(item);
+        BookingDto savedBooking = mapper.toBookingDto(bookingRepository.save(booking));
+        eventPublisher.publishEvent(ItemViewChangedEvent.of(item.getId()));
+        return savedBooking;
+    }
+
+    @Override
+    public List<BookingDto> saveAll(List<BookingDtoSimple> bookingDtoSimples, long userId) {
+        log.info("Запрошено пакетное сохранение {} аренд для UserId: {}", bookingDtoSimples.size(), userId);
+        bookingDtoSimples.forEach(this::checkDates);
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new StorageException("Incorrect userId"));
+        Set<Long> itemIds = bookingDtoSimples.stream()
+                .map(BookingDtoSimple::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findDetailedByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Booking> bookings = new ArrayList<>(bookingDtoSimples.size());
+        for (BookingDtoSimple bookingDtoSimple : bookingDtoSimples) {
+            Item item = items.get(bookingDtoSimple.getItemId());
+            if (item == null) {
+                throw new StorageException("Вещи с Id = " + bookingDtoSimple.getItemId() + " нет в базе данных");
+            }
+            checkBookable(item, userId);
+            Booking booking = mapper.fromSimpleToBooking(bookingDtoSimple);
+            booking.setId(null);
+            booking.setBooker(booker);
+            booking.setItem(item);
+            bookings.add(booking);
+        }
+        List<BookingDto> savedBookings = bookingRepository.saveAll(bookings).stream()
+                .map(mapper::toBookingDto)
+                .collect(Collectors.toList());
+        itemIds.forEach(itemId -> eventPublisher.publishEvent(ItemViewChangedEvent.of(itemId)));
+        return savedBookings;
+    }
+
+    private void checkDates(BookingDtoSimple bookingDtoSimple) {
+        if (bookingDtoSimple.getEnd().isBefore(bookingDtoSimple.getStart())) {
+            log.error("Incorrect end time");
+            throw new BookingException("Incorrect end time");
+        }
+    }
+
+    private void checkBookable(Item item, long userId) {
         if (!item.getAvailable()) {
-            log.warn("Вещь с itemId {} не доступна для аренды", bookingDtoSimple.getItemId());
-            throw new ItemException("Вещь с Id = " + bookingDtoSimple.getItemId() +
-                    " не доступна для аренды");
+            log.warn("Вещь с itemId {} не доступна для аренды", item.getId());
+            throw new ItemException("Вещь с Id = " + item.getId() + " не доступна для аренды");
         }
         if (item.getOwner().getId() == userId) {
             log.warn("Владелец {} не может забронировать свою вещь", userId);
             throw new StorageException("Владелец вещи не может забронировать свою вещь");
-        } else {
-            booking.setItem(item);
-            return mapper.toBookingDto(bookingRepository.save(booking));
         }
     }
 
@@ -128,6 +234,7 @@ public class BookingServiceImpl implements BookingService {
         log.info("Запрос на обновление вещи {}", bookingId);
         BookingDto oldBookingDto = mapper.toBookingDto(bookingRepository.findById(bookingId)
                 .orElseThrow());
+        long oldItemId = oldBookingDto.getItem().getId();
         if (bookingDto.getStart() != null) {
             oldBookingDto.setStart(bookingDto.getStart());
         }
@@ -143,12 +250,20 @@ public class BookingServiceImpl implements BookingService {
         if (bookingDto.getStatus() != null) {
             oldBookingDto.setStatus(bookingDto.getStatus());
         }
-        return mapper.toBookingDto(bookingRepository.save(mapper.toBooking(oldBookingDto)));
+        BookingDto savedBooking = mapper.toBookingDto(bookingRepository.save(mapper.toBooking(oldBookingDto)));
+        eventPublisher.publishEvent(ItemViewChangedEvent.of(oldItemId));
+        if (savedBooking.getItem().getId() != oldItemId) {
+            eventPublisher.publishEvent(ItemViewChangedEvent.of(savedBooking.getItem().getId()));
+        }
+        return savedBooking;
     }
 
     @Override
     public void deleteById(long bookingId) {
+        Optional<Long> itemId = bookingRepository.findById(bookingId)
+                .map(booking -> booking.getItem().getId());
         bookingRepository.deleteById(bookingId);
+        itemId.ifPresent(id -> eventPublisher.publishEvent(ItemViewChangedEvent.of(id)));
     }
 
     @Override
@@ -168,53 +283,42 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingException("Необходимо указать approved");
         } else if (approved) {
             booking.setStatus(Status.APPROVED);
-            return mapper.toBookingDto(bookingRepository.save(booking));
         } else {
             booking.setStatus(Status.REJECTED);
-            return mapper.toBookingDto(bookingRepository.save(booking));
         }
+        bookingRepository.save(booking);
+        eventPublisher.publishEvent(ItemViewChangedEvent.of(booking.getItem().getId()));
+        return mapper.toBookingDto(booking);
     }
 
     @Override
     public List<BookingDto> findAllByItemOwnerId(long userId, String state, int from, int size) {
         log.info("Запрошен поиск по вещи и владельцу: {}", userId);
-        userRepository.findById(userId).orElseThrow(() -> new StorageException("Incorrect userId"));
-        int page = from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.by("start").descending());
-        List<BookingDto> result = bookingRepository.searchBookingByItemOwnerId(userId, pageable).stream()
-                .map(mapper::toBookingDto).collect(Collectors.toList());
-        if (result.isEmpty()) {
+        return bookingRepository.findByCriteria(toOwnerCriteria(userId, state), (long) (from / size) * size, size)
+                .stream()
+                .map(mapper::toBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookingShortDto> findAllShortByItemOwnerId(long userId, String state, int from, int size) {
+        log.info("Запрошен поиск по вещи и владельцу в кратком виде: {}", userId);
+        return bookingRepository.findShortByCriteria(toOwnerCriteria(userId, state), (long) (from / size) * size,
+                size);
+    }
+
+    private BookingCriteria toOwnerCriteria(long userId, String state) {
+        checkUserExists(userId);
+        if (!itemRepository.existsByOwnerId(userId)) {
             log.error("У пользователя {} нет вещей", userId);
             throw new StorageException("У пользователя нет вещей");
         }
-        try {
-            switch (Status.valueOf(state)) {
-                case ALL:
-                    return result;
-                case CURRENT:
-                    return bookingRepository.findCurrentBookingsByItemOwnerId(userId, LocalDateTime.now(),
-                            pageable).stream().map(mapper::toBookingDto).collect(Collectors.toList());
-                case PAST:
-                    return bookingRepository.findBookingsByItemOwnerIdAndEndIsBefore(userId, LocalDateTime.now(),
-                            pageable).stream().map(mapper::toBookingDto).collect(Collectors.toList());
-                case FUTURE:
-                    return bookingRepository.searchBookingByItemOwnerIdAndStartIsAfter(userId, LocalDateTime.now(),
-                            pageable).stream().map(mapper::toBookingDto).collect(Collectors.toList());
-                case WAITING:
-                    return bookingRepository.findBookingsByItemOwnerId(userId, pageable).stream().skip(from)
-                            .filter(booking -> booking.getStatus().equals(Status.WAITING))
-                            .map(mapper::toBookingDto).collect(Collectors.toList());
-                case REJECTED:
-                    return bookingRepository.findBookingsByItemOwnerId(userId, pageable).stream().skip(from)
-                            .filter(booking -> booking.getStatus().equals(Status.REJECTED))
-                            .map(mapper::toBookingDto).collect(Collectors.toList());
-                default:
-                    log.error("Unknown state: UNSUPPORTED_STATUS");
-                    throw new BookingException("Unknown state: UNSUPPORTED_STATUS");
-            }
-        } catch (IllegalArgumentException e) {
-            log.error("Unknown state: UNSUPPORTED_STATUS");
-            throw new BookingException("Unknown state: UNSUPPORTED_STATUS");
+        return BookingCriteria.forOwner(userId, toState(state), LocalDateTime.now());
+    }
+
+    private void checkUserExists(long userId) {
+        if (!userExistence.exists(userId)) {
+            throw new StorageException("Incorrect userId");
         }
     }
 
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.second-level-cache")
+public class SecondLevelCacheProperties {
+
+    private boolean enabled = true;
+    private Map<String, Region> regions = new HashMap<>();
+
+    @Data
+    public static class Region {
+        private Duration ttl = Duration.ofSeconds(5);
+        private long maxSize = 10000;
+    }
+}
@@ -37,4 +37,25 @@ public class ErrorHandler {
         log.error("Storage error - incorrect request" + "\n" + e.getMessage());
         return new ErrorResponse(e.getMessage(), "incorrect request");
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleCursorException(CursorException e) {
+        log.error("Pagination error - incorrect cursor" + "\n" + e.getMessage());
+        return new ErrorResponse("INCORRECT_CURSOR", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleImportException(ImportException e) {
+        log.error("Import error - incorrect input" + "\n" + e.getMessage());
+        return new ErrorResponse("INCORRECT_IMPORT", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleImportLimitException(ImportLimitException e) {
+        log.warn("Import error - too many active imports" + "\n" + e.getMessage());
+        return new ErrorResponse("IMPORT_LIMIT_REACHED", e.getMessage());
+    }
 }
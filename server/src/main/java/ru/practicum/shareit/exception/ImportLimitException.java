@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class ImportLimitException extends RuntimeException {
+    public ImportLimitException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.imports.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.imports.service.ImportService;
+
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@Slf4j
+@RequestMapping("/imports")
+public class ImportController {
+
+    private final ImportService importService;
+
+    @Autowired
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping("/{entity}")
+    public ImportReport importData(@PathVariable String entity,
+                                   @RequestParam String source,
+                                   @RequestParam(defaultValue = "csv") String format,
+                                   InputStream body) {
+        log.info("Получен запрос к эндпоинту: 'POST/imports/{}', источник: {}, формат: {}", entity, source, format);
+        return importService.importData(entity, source, format, body);
+    }
+
+    @GetMapping
+    public List<ImportReport> findActive() {
+        return importService.findActive();
+    }
+}
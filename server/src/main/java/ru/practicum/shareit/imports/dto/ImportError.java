@@ -0,0 +1,14 @@
+package ru.practicum.shareit.imports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportError {
+
+    private long line;
+    private String message;
+}
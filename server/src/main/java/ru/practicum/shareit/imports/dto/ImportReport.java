@@ -0,0 +1,24 @@
+package ru.practicum.shareit.imports.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportReport {
+
+    private String id;
+    private String entity;
+    private String source;
+    private long read;
+    private long imported;
+    private long failed;
+    private List<ImportError> errors;
+    private boolean errorsTruncated;
+    private long durationMs;
+    private boolean finished;
+}
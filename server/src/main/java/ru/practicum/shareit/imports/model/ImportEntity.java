@@ -0,0 +1,43 @@
+package ru.practicum.shareit.imports.model;
+
+import ru.practicum.shareit.exception.ImportException;
+
+import java.util.List;
+
+public enum ImportEntity {
+    USERS("users", "users_seq", List.of("user_id", "user_name", "email")),
+    ITEMS("items", "items_seq", List.of("item_id", "item_name", "description", "available", "owner_id")),
+    BOOKINGS("bookings", "bookings_seq", List.of("booking_id", "start_date", "end_date", "item_id", "booker_id",
+            "status"));
+
+    private final String table;
+    private final String sequence;
+    private final List<String> columns;
+
+    ImportEntity(String table, String sequence, List<String> columns) {
+        this.table = table;
+        this.sequence = sequence;
+        this.columns = columns;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getSequence() {
+        return sequence;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public static ImportEntity from(String entity) {
+        for (ImportEntity value : values()) {
+            if (value.name().equalsIgnoreCase(entity)) {
+                return value;
+            }
+        }
+        throw new ImportException("Unknown import entity: " + entity);
+    }
+}
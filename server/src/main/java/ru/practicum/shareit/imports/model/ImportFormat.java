@@ -0,0 +1,17 @@
+package ru.practicum.shareit.imports.model;
+
+import ru.practicum.shareit.exception.ImportException;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    public static ImportFormat from(String format) {
+        for (ImportFormat value : values()) {
+            if (value.name().equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new ImportException("Unknown import format: " + format);
+    }
+}
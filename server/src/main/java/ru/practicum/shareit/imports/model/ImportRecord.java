@@ -0,0 +1,23 @@
+package ru.practicum.shareit.imports.model;
+
+import lombok.Value;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+@Value
+public class ImportRecord {
+
+    long line;
+    Map<String, String> fields;
+    @Nullable
+    String error;
+
+    public static ImportRecord of(long line, Map<String, String> fields) {
+        return new ImportRecord(line, fields, null);
+    }
+
+    public static ImportRecord malformed(long line, String error) {
+        return new ImportRecord(line, Map.of(), error);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.imports.reader;
+
+import org.springframework.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+class BoundedLineReader implements Closeable {
+
+    private final Reader reader;
+    private final int maxLength;
+    private final char[] buffer = new char[8192];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean skipLineFeed;
+    private boolean tooLong;
+
+    BoundedLineReader(Reader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    // Символы сверх maxLength пропускаются до конца строки, так что одна строка не занимает память без предела
+    @Nullable
+    String readLine() throws IOException {
+        line.setLength(0);
+        tooLong = false;
+        int c = read();
+        if (skipLineFeed && c == '\n') {
+            c = read();
+        }
+        skipLineFeed = false;
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n' && c != '\r') {
+            if (line.length() < maxLength) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = read();
+        }
+        skipLineFeed = c == '\r';
+        return line.toString();
+    }
+
+    boolean isTooLong() {
+        return tooLong;
+    }
+
+    int getMaxLength() {
+        return maxLength;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            int read = reader.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return -1;
+            }
+            position = 0;
+            limit = read;
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.imports.reader;
+
+import ru.practicum.shareit.exception.ImportException;
+import ru.practicum.shareit.imports.model.ImportRecord;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Перевод строки внутри кавычек не поддерживается: каждая запись занимает одну строку
+public class CsvRecordReader implements RecordReader {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char BOM = '\uFEFF';
+
+    private final BoundedLineReader reader;
+    private List<String> header;
+    private long line;
+
+    CsvRecordReader(BoundedLineReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        if (header == null) {
+            readHeader();
+        }
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank() && !reader.isTooLong());
+        if (reader.isTooLong()) {
+            return ImportRecord.malformed(line, "Строка длиннее " + reader.getMaxLength() + " символов");
+        }
+        List<String> values = split(text);
+        if (values == null) {
+            return ImportRecord.malformed(line, "Незакрытая кавычка");
+        }
+        if (values.size() != header.size()) {
+            return ImportRecord.malformed(line, "Ожидалось полей: " + header.size() + ", получено: "
+                    + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return ImportRecord.of(line, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        String text = reader.readLine();
+        line++;
+        if (text == null || text.isBlank()) {
+            throw new ImportException("CSV header is missing");
+        }
+        if (reader.isTooLong()) {
+            throw new ImportException("CSV header is longer than " + reader.getMaxLength() + " characters");
+        }
+        if (text.charAt(0) == BOM) {
+            text = text.substring(1);
+        }
+        List<String> columns = split(text);
+        if (columns == null) {
+            throw new ImportException("Incorrect CSV header: " + text);
+        }
+        header = new ArrayList<>(columns.size());
+        columns.forEach(column -> header.add(column.trim()));
+    }
+
+    // null, если кавычка не закрыта
+    static List<String> split(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < text.length() && text.charAt(i + 1) == QUOTE) {
+                    value.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
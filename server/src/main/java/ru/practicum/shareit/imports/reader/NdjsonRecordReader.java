@@ -0,0 +1,61 @@
+package ru.practicum.shareit.imports.reader;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.imports.model.ImportRecord;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class NdjsonRecordReader implements RecordReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final BoundedLineReader reader;
+    private long line;
+
+    NdjsonRecordReader(BoundedLineReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank() && !reader.isTooLong());
+        if (reader.isTooLong()) {
+            return ImportRecord.malformed(line, "Строка длиннее " + reader.getMaxLength() + " символов");
+        }
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(text);
+        } catch (JsonProcessingException e) {
+            return ImportRecord.malformed(line, "Некорректный JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ImportRecord.malformed(line, "Ожидался JSON-объект");
+        }
+        Map<String, String> fields = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> iterator = node.fields();
+        while (iterator.hasNext()) {
+            Map.Entry<String, JsonNode> field = iterator.next();
+            if (field.getValue().isValueNode() && !field.getValue().isNull()) {
+                fields.put(field.getKey(), field.getValue().asText());
+            }
+        }
+        return ImportRecord.of(line, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
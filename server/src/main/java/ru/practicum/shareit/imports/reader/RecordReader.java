@@ -0,0 +1,30 @@
+package ru.practicum.shareit.imports.reader;
+
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.imports.model.ImportFormat;
+import ru.practicum.shareit.imports.model.ImportRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+public interface RecordReader extends Closeable {
+
+    @Nullable
+    ImportRecord next() throws IOException;
+
+    static RecordReader open(ImportFormat format, InputStream input, int maxLineLength) {
+        BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(input, StandardCharsets.UTF_8),
+                maxLineLength);
+        switch (format) {
+            case CSV:
+                return new CsvRecordReader(reader);
+            case NDJSON:
+                return new NdjsonRecordReader(reader);
+            default:
+                throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+    }
+}
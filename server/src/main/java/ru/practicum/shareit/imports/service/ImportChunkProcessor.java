@@ -0,0 +1,354 @@
+package ru.practicum.shareit.imports.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.imports.model.ImportEntity;
+import ru.practicum.shareit.imports.model.ImportRecord;
+import ru.practicum.shareit.imports.writer.ImportWriter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.view.ItemViewChangedEvent;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+class ImportChunkProcessor {
+
+    // Совпадает с INCREMENT BY последовательностей и allocationSize сущностей (pooled-lo)
+    private static final int ID_BLOCK_SIZE = 50;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_EXTERNAL_ID_LENGTH = 64;
+    private static final List<String> KEY_COLUMNS = List.of("source", "entity", "external_id", "id");
+    private static final Set<Status> IMPORTED_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED,
+            Status.REJECTED, Status.CANCELED);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ImportWriter writer;
+    private final UserExistenceService userExistence;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    ImportChunkProcessor(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                         ImportWriter writer, UserExistenceService userExistence,
+                         ItemSearchEngine itemSearchEngine, ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writer = writer;
+        this.userExistence = userExistence;
+        this.itemSearchEngine = itemSearchEngine;
+        this.eventPublisher = eventPublisher;
+    }
+
+    void process(ImportProgress progress, List<ImportRecord> records) {
+        ImportEntity entity = progress.getEntity();
+        List<Row> rows = new ArrayList<>(records.size());
+        for (ImportRecord record : records) {
+            if (record.getError() != null) {
+                progress.fail(record.getLine(), record.getError());
+                continue;
+            }
+            try {
+                rows.add(parse(entity, record));
+            } catch (RowException e) {
+                progress.fail(record.getLine(), e.getMessage());
+            }
+        }
+        rows = dropImported(progress, rows);
+        switch (entity) {
+            case USERS:
+                rows = checkEmails(progress, rows);
+                break;
+            case ITEMS:
+                rows = resolveOwners(progress, rows);
+                break;
+            case BOOKINGS:
+                rows = resolveBookingReferences(progress, rows);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported import entity: " + entity);
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (write(progress, rows)) {
+            progress.addImported(rows.size());
+            afterWrite(entity, rows);
+        }
+    }
+
+    private Row parse(ImportEntity entity, ImportRecord record) {
+        String externalId = required(record, "id", MAX_EXTERNAL_ID_LENGTH);
+        switch (entity) {
+            case USERS:
+                String email = required(record, "email", MAX_TEXT_LENGTH);
+                if (!email.contains("@")) {
+                    throw new RowException("Некорректный email: " + email);
+                }
+                return new Row(record.getLine(), externalId,
+                        new Object[]{null, required(record, "name", MAX_TEXT_LENGTH), email});
+            case ITEMS:
+                return new Row(record.getLine(), externalId, new Object[]{null,
+                        required(record, "name", MAX_TEXT_LENGTH),
+                        required(record, "description", MAX_TEXT_LENGTH),
+                        parseBoolean(required(record, "available", MAX_TEXT_LENGTH)),
+                        required(record, "ownerId", MAX_EXTERNAL_ID_LENGTH)});
+            case BOOKINGS:
+                LocalDateTime start = parseTime(required(record, "start", MAX_TEXT_LENGTH));
+                LocalDateTime end = parseTime(required(record, "end", MAX_TEXT_LENGTH));
+                if (end.isBefore(start)) {
+                    throw new RowException("Окончание бронирования раньше начала");
+                }
+                return new Row(record.getLine(), externalId, new Object[]{null, start, end,
+                        required(record, "itemId", MAX_EXTERNAL_ID_LENGTH),
+                        required(record, "bookerId", MAX_EXTERNAL_ID_LENGTH),
+                        parseStatus(record.getFields().get("status")).name()});
+            default:
+                throw new IllegalArgumentException("Unsupported import entity: " + entity);
+        }
+    }
+
+    // Уже загруженные id партнёра отклоняются, поэтому повторный запуск импорта не создаёт дублей
+    private List<Row> dropImported(ImportProgress progress, List<Row> rows) {
+        Map<String, Long> imported = findKeys(progress.getSource(), progress.getEntity(),
+                rows.stream().map(row -> row.externalId).collect(Collectors.toSet()));
+        Set<String> seen = new HashSet<>();
+        List<Row> fresh = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (imported.containsKey(row.externalId)) {
+                progress.fail(row.line, "Строка с id = " + row.externalId + " уже импортирована");
+            } else if (!seen.add(row.externalId)) {
+                progress.fail(row.line, "Повтор id = " + row.externalId + " в файле");
+            } else {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    private List<Row> checkEmails(ImportProgress progress, List<Row> rows) {
+        Set<String> emails = rows.stream().map(row -> (String) row.values[2]).collect(Collectors.toSet());
+        Set<String> existing = emails.isEmpty() ? Set.of() : new HashSet<>(jdbcTemplate.queryForList(
+                "select email from users where email in (:emails)", Map.of("emails", emails), String.class));
+        Set<String> seen = new HashSet<>();
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String email = (String) row.values[2];
+            if (existing.contains(email) || !seen.add(email)) {
+                progress.fail(row.line, "Пользователь с email " + email + " уже существует");
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private List<Row> resolveOwners(ImportProgress progress, List<Row> rows) {
+        Map<String, Long> owners = findKeys(progress.getSource(), ImportEntity.USERS,
+                rows.stream().map(row -> (String) row.values[4]).collect(Collectors.toSet()));
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            Long ownerId = owners.get((String) row.values[4]);
+            if (ownerId == null) {
+                progress.fail(row.line, "Владелец с id = " + row.values[4] + " не импортирован");
+            } else {
+                row.values[4] = ownerId;
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private List<Row> resolveBookingReferences(ImportProgress progress, List<Row> rows) {
+        Map<String, long[]> items = findItems(progress.getSource(),
+                rows.stream().map(row -> (String) row.values[3]).collect(Collectors.toSet()));
+        Map<String, Long> bookers = findKeys(progress.getSource(), ImportEntity.USERS,
+                rows.stream().map(row -> (String) row.values[4]).collect(Collectors.toSet()));
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            long[] item = items.get((String) row.values[3]);
+            Long bookerId = bookers.get((String) row.values[4]);
+            if (item == null) {
+                progress.fail(row.line, "Вещь с id = " + row.values[3] + " не импортирована");
+            } else if (bookerId == null) {
+                progress.fail(row.line, "Пользователь с id = " + row.values[4] + " не импортирован");
+            } else if (bookerId == item[1]) {
+                progress.fail(row.line, "Владелец не может бронировать свою вещь");
+            } else {
+                row.values[3] = item[0];
+                row.values[4] = bookerId;
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private boolean write(ImportProgress progress, List<Row> rows) {
+        ImportEntity entity = progress.getEntity();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Iterator<Long> ids = allocateIds(entity.getSequence(), rows.size()).iterator();
+                List<Object[]> keys = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    row.values[0] = ids.next();
+                    keys.add(new Object[]{progress.getSource(), entity.name(), row.externalId, row.values[0]});
+                }
+                writer.write(entity.getTable(), entity.getColumns(),
+                        rows.stream().map(row -> row.values).collect(Collectors.toList()));
+                writer.write("import_keys", KEY_COLUMNS, keys);
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Импорт {}: пакет строк {}–{} не записан", progress.getId(), rows.get(0).line,
+                    rows.get(rows.size() - 1).line, e);
+            progress.fail(rows.get(0).line, "Пакет строк " + rows.get(0).line + "–" + rows.get(rows.size() - 1).line
+                    + " не записан: " + e.getMostSpecificCause().getMessage(), rows.size());
+            return false;
+        }
+    }
+
+    // Записанные в обход Hibernate строки доводятся до битовой карты пользователей, поиска и кэша представлений
+    private void afterWrite(ImportEntity entity, List<Row> rows) {
+        switch (entity) {
+            case USERS:
+                rows.forEach(row -> userExistence.add((Long) row.values[0]));
+                break;
+            case ITEMS:
+                rows.forEach(row -> itemSearchEngine.index(new Item((Long) row.values[0], (String) row.values[1],
+                        (String) row.values[2], (Boolean) row.values[3],
+                        new User((Long) row.values[4], null, null), null)));
+                break;
+            case BOOKINGS:
+                rows.stream().map(row -> (Long) row.values[3]).distinct()
+                        .forEach(itemId -> eventPublisher.publishEvent(ItemViewChangedEvent.of(itemId)));
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported import entity: " + entity);
+        }
+    }
+
+    private List<Long> allocateIds(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            Long low = jdbcTemplate.getJdbcTemplate().queryForObject("select nextval('" + sequence + "')",
+                    Long.class);
+            for (int i = 0; i < ID_BLOCK_SIZE && ids.size() < count; i++) {
+                ids.add(low + i);
+            }
+        }
+        return ids;
+    }
+
+    private Map<String, Long> findKeys(String source, ImportEntity entity, Set<String> externalIds) {
+        Map<String, Long> keys = new HashMap<>();
+        if (externalIds.isEmpty()) {
+            return keys;
+        }
+        jdbcTemplate.query("select external_id, id from import_keys "
+                        + "where source = :source and entity = :entity and external_id in (:ids)",
+                new MapSqlParameterSource("source", source)
+                        .addValue("entity", entity.name())
+                        .addValue("ids", externalIds),
+                rs -> {
+                    keys.put(rs.getString("external_id"), rs.getLong("id"));
+                });
+        return keys;
+    }
+
+    // id партнёра -> {id вещи, id владельца}
+    private Map<String, long[]> findItems(String source, Set<String> externalIds) {
+        Map<String, long[]> items = new HashMap<>();
+        if (externalIds.isEmpty()) {
+            return items;
+        }
+        jdbcTemplate.query("select k.external_id, i.item_id, i.owner_id from import_keys k "
+                        + "join items i on i.item_id = k.id "
+                        + "where k.source = :source and k.entity = :entity and k.external_id in (:ids)",
+                new MapSqlParameterSource("source", source)
+                        .addValue("entity", ImportEntity.ITEMS.name())
+                        .addValue("ids", externalIds),
+                rs -> {
+                    items.put(rs.getString("external_id"), new long[]{rs.getLong("item_id"), rs.getLong("owner_id")});
+                });
+        return items;
+    }
+
+    private static String required(ImportRecord record, String field, int maxLength) {
+        String value = record.getFields().get(field);
+        if (value == null || value.isBlank()) {
+            throw new RowException("Не заполнено поле " + field);
+        }
+        if (value.length() > maxLength) {
+            throw new RowException("Поле " + field + " длиннее " + maxLength + " символов");
+        }
+        return value.trim();
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return false;
+        }
+        throw new RowException("Некорректное значение available: " + value);
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new RowException("Некорректная дата: " + value);
+        }
+    }
+
+    private static Status parseStatus(String value) {
+        if (value == null || value.isBlank()) {
+            return Status.APPROVED;
+        }
+        Status status;
+        try {
+            status = Status.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RowException("Некорректный статус: " + value);
+        }
+        if (!IMPORTED_STATUSES.contains(status)) {
+            throw new RowException("Некорректный статус: " + value);
+        }
+        return status;
+    }
+
+    // values[0] - id ShareIt, дальше значения в порядке колонок сущности
+    private static class Row {
+        private final long line;
+        private final String externalId;
+        private final Object[] values;
+
+        Row(long line, String externalId, Object[] values) {
+            this.line = line;
+            this.externalId = externalId;
+            this.values = values;
+        }
+    }
+
+    private static class RowException extends RuntimeException {
+        RowException(String message) {
+            super(message, null, false, false);
+        }
+    }
+}
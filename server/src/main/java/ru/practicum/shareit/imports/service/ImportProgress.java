@@ -0,0 +1,88 @@
+package ru.practicum.shareit.imports.service;
+
+import ru.practicum.shareit.imports.dto.ImportError;
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.imports.model.ImportEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ImportProgress {
+
+    private final String id;
+    private final ImportEntity entity;
+    private final String source;
+    private final int maxReportedErrors;
+    private final long startedAt = System.nanoTime();
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<ImportError> errors = new ArrayList<>();
+    private volatile boolean errorsTruncated;
+    private volatile long finishedAt;
+
+    ImportProgress(String id, ImportEntity entity, String source, int maxReportedErrors) {
+        this.id = id;
+        this.entity = entity;
+        this.source = source;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    ImportEntity getEntity() {
+        return entity;
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    void addRead(long count) {
+        read.addAndGet(count);
+    }
+
+    void addImported(long count) {
+        imported.addAndGet(count);
+    }
+
+    long getImported() {
+        return imported.get();
+    }
+
+    long getFailed() {
+        return failed.get();
+    }
+
+    void fail(long line, String message) {
+        fail(line, message, 1);
+    }
+
+    void fail(long line, String message, int rows) {
+        failed.addAndGet(rows);
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    void finish() {
+        finishedAt = System.nanoTime();
+    }
+
+    ImportReport toReport() {
+        long end = finishedAt == 0 ? System.nanoTime() : finishedAt;
+        List<ImportError> reportedErrors;
+        synchronized (errors) {
+            reportedErrors = new ArrayList<>(errors);
+        }
+        return new ImportReport(id, entity.name().toLowerCase(), source, read.get(), imported.get(), failed.get(),
+                reportedErrors, errorsTruncated, (end - startedAt) / 1_000_000, finishedAt != 0);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.imports.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.import")
+public class ImportProperties {
+
+    // copy - COPY FROM STDIN (только PostgreSQL), batch - пакетные insert через JDBC
+    private String writer = "copy";
+    private int chunkSize = 1000;
+    private int queueCapacity = 4;
+    private int maxReportedErrors = 100;
+    private int maxLineLength = 10_000;
+    private int maxActiveImports = 4;
+}
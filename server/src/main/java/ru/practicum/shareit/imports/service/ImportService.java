@@ -0,0 +1,13 @@
+package ru.practicum.shareit.imports.service;
+
+import ru.practicum.shareit.imports.dto.ImportReport;
+
+import java.io.InputStream;
+import java.util.List;
+
+public interface ImportService {
+
+    ImportReport importData(String entity, String source, String format, InputStream input);
+
+    List<ImportReport> findActive();
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.imports.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.ImportException;
+import ru.practicum.shareit.exception.ImportLimitException;
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.imports.model.ImportEntity;
+import ru.practicum.shareit.imports.model.ImportFormat;
+import ru.practicum.shareit.imports.model.ImportRecord;
+import ru.practicum.shareit.imports.reader.RecordReader;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@EnableConfigurationProperties(ImportProperties.class)
+public class ImportServiceImpl implements ImportService {
+
+    private static final List<ImportRecord> END = List.of();
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private static final int MAX_SOURCE_LENGTH = 64;
+
+    private final ImportChunkProcessor chunkProcessor;
+    private final ImportProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ImportProgress> activeImports = new ConcurrentHashMap<>();
+    private final Semaphore importSlots;
+    private final ExecutorService writers;
+
+    @Autowired
+    ImportServiceImpl(ImportChunkProcessor chunkProcessor, ImportProperties properties, MeterRegistry meterRegistry) {
+        this.chunkProcessor = chunkProcessor;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.importSlots = new Semaphore(properties.getMaxActiveImports());
+        this.writers = Executors.newFixedThreadPool(properties.getMaxActiveImports(),
+                new CustomizableThreadFactory("import-"));
+        Gauge.builder("shareit.import.active", activeImports, Map::size)
+                .description("Количество выполняющихся импортов")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ImportReport importData(String entity, String source, String format, InputStream input) {
+        ImportEntity importEntity = ImportEntity.from(entity);
+        ImportFormat importFormat = ImportFormat.from(format);
+        if (source == null || source.isBlank() || source.length() > MAX_SOURCE_LENGTH) {
+            throw new ImportException("Incorrect import source: " + source);
+        }
+        if (!importSlots.tryAcquire()) {
+            throw new ImportLimitException("Too many active imports, limit: " + properties.getMaxActiveImports());
+        }
+        ImportProgress progress = new ImportProgress(UUID.randomUUID().toString(), importEntity, source,
+                properties.getMaxReportedErrors());
+        activeImports.put(progress.getId(), progress);
+        log.info("Импорт {}: начата загрузка {} из {} ({})", progress.getId(), importEntity, source, importFormat);
+        try (RecordReader reader = RecordReader.open(importFormat, input, properties.getMaxLineLength())) {
+            run(progress, reader);
+        } catch (IOException e) {
+            throw new ImportException("Не удалось прочитать файл импорта: " + e.getMessage());
+        } finally {
+            progress.finish();
+            activeImports.remove(progress.getId());
+            importSlots.release();
+        }
+        ImportReport report = progress.toReport();
+        log.info("Импорт {} завершён за {} мс: прочитано {}, загружено {}, ошибок {}", report.getId(),
+                report.getDurationMs(), report.getRead(), report.getImported(), report.getFailed());
+        return report;
+    }
+
+    @Override
+    public List<ImportReport> findActive() {
+        return activeImports.values().stream()
+                .map(ImportProgress::toReport)
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private void run(ImportProgress progress, RecordReader reader) throws IOException {
+        // Чтение ждёт отстающую запись, поэтому в памяти не больше (queueCapacity + 2) * chunkSize строк
+        BlockingQueue<List<ImportRecord>> queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        Future<?> writer = writers.submit(() -> write(progress, queue));
+        try {
+            List<ImportRecord> chunk = new ArrayList<>(properties.getChunkSize());
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == properties.getChunkSize()) {
+                    handOver(queue, chunk, writer);
+                    progress.addRead(chunk.size());
+                    chunk = new ArrayList<>(properties.getChunkSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                handOver(queue, chunk, writer);
+                progress.addRead(chunk.size());
+            }
+            handOver(queue, END, writer);
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ImportException("Импорт " + progress.getId() + " прерван");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Импорт " + progress.getId() + " завершился ошибкой", e.getCause());
+        } finally {
+            // Ошибка чтения файла не должна оставлять поток записи ждать очередной пакет
+            writer.cancel(true);
+        }
+    }
+
+    private void handOver(BlockingQueue<List<ImportRecord>> queue, List<ImportRecord> chunk, Future<?> writer)
+            throws InterruptedException, ExecutionException {
+        while (!queue.offer(chunk, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.get();
+                throw new IllegalStateException("Поток записи импорта остановился раньше конца файла");
+            }
+        }
+    }
+
+    private void write(ImportProgress progress, BlockingQueue<List<ImportRecord>> queue) {
+        Counter importedRows = rowCounter(progress.getEntity(), "imported");
+        Counter failedRows = rowCounter(progress.getEntity(), "failed");
+        try {
+            List<ImportRecord> chunk;
+            while ((chunk = queue.take()) != END) {
+                long imported = progress.getImported();
+                long failed = progress.getFailed();
+                chunkProcessor.process(progress, chunk);
+                importedRows.increment(progress.getImported() - imported);
+                failedRows.increment(progress.getFailed() - failed);
+                log.info("Импорт {}: записан пакет до строки {}, загружено {}, ошибок {}", progress.getId(),
+                        chunk.get(chunk.size() - 1).getLine(), progress.getImported(), progress.getFailed());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Counter rowCounter(ImportEntity entity, String result) {
+        return Counter.builder("shareit.import.rows")
+                .description("Строки импорта по результату")
+                .tag("entity", entity.name().toLowerCase())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
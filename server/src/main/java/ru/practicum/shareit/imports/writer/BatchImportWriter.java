@@ -0,0 +1,31 @@
+package ru.practicum.shareit.imports.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.import.writer", havingValue = "batch")
+public class BatchImportWriter implements ImportWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BatchImportWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        log.info("Импорт записывает строки пакетными insert");
+    }
+
+    @Override
+    public void write(String table, List<String> columns, List<Object[]> rows) {
+        String sql = "insert into " + table + " (" + String.join(", ", columns) + ") values ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        jdbcTemplate.batchUpdate(sql, rows);
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.imports.writer;
+
+import java.util.List;
+
+public interface ImportWriter {
+
+    void write(String table, List<String> columns, List<Object[]> rows);
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -24,10 +25,14 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDtoWithBooking> findAll(@RequestHeader("X-Sharer-User-Id") long userId,
-                                            @RequestParam(defaultValue = "0") int from,
-                                            @RequestParam(defaultValue = "20") int size) {
-        return itemService.findAll(userId, from, size);
+    public ResponseEntity<List<ItemDtoWithBooking>> findAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                                            @RequestParam(defaultValue = "0") int from,
+                                                            @RequestParam(defaultValue = "20") int size,
+                                                            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return itemService.findAllByCursor(userId, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(itemService.findAll(userId, from, size));
     }
 
     @PostMapping
@@ -37,6 +42,13 @@ public class ItemController {
         return itemService.save(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                   @RequestBody List<ItemDto> itemDtos) {
+        log.info("Получен запрос к эндпоинту: 'POST/items/batch', Вещей: {}", itemDtos.size());
+        return itemService.saveAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{id}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") long userId,
                           @PathVariable long id,
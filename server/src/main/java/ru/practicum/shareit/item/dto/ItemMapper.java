@@ -23,6 +23,15 @@ public class ItemMapper {
         return itemDto;
     }
 
+    public ItemDto toItemDto(ItemProjection item) {
+        return new ItemDto(item.getId(),
+                item.getName(),
+                item.getDescription(),
+                item.getAvailable(),
+                item.getRequestId()
+        );
+    }
+
     public Item toItem(ItemDto itemDto) {
         return new Item(itemDto.getId(),
                 itemDto.getName(),
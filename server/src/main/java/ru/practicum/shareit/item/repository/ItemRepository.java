@@ -1,21 +1,63 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemProjection;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            " or upper(i.description) like upper(concat('%', ?1, '%'))")
-    List<Item> search(String text, Pageable pageable);
+    @Query(value = "select i.item_id as id, i.item_name as name, i.description as description, " +
+            "i.available as available, i.request_id as \"requestId\" " +
+            "from items i " +
+            "where i.available = true " +
+            "and i.search_vector @@ (to_tsquery('russian', ?1) || to_tsquery('english', ?1)) " +
+            "order by ts_rank(i.search_vector, to_tsquery('russian', ?1) || to_tsquery('english', ?1)) desc, " +
+            "i.item_id",
+            nativeQuery = true)
+    List<ItemProjection> searchAvailableByTsQuery(String tsQuery, Pageable pageable);
 
-    List<Item> findAllByItemRequestId(Long itemRequestId);
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, r.id) " +
+            "from Item i left join i.itemRequest r " +
+            "where i.id in ?1 " +
+            "and i.available = true")
+    List<ItemDto> findAvailableItemDtosByIdIn(Collection<Long> ids);
 
+    @EntityGraph(Item.DETAILS_GRAPH)
+    Optional<Item> findDetailedById(long itemId);
+
+    // Запрос идёт мимо кэша второго уровня: изменения пишутся поверх актуального состояния из БД
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findForUpdateById(long itemId);
+
+    @EntityGraph(Item.DETAILS_GRAPH)
+    List<Item> findDetailedByIdIn(Collection<Long> itemIds);
+
+    @Query("select new ru.practicum.shareit.item.dto.ItemDto(i.id, i.name, i.description, i.available, " +
+            "i.itemRequest.id) " +
+            "from Item i " +
+            "where i.itemRequest.id in ?1 " +
+            "order by i.id")
+    List<ItemDto> findItemDtosByItemRequestIdIn(Collection<Long> itemRequestIds);
+
+    boolean existsByOwnerId(long userId);
+
+    @Query("select i from Item i " +
+            "where i.owner.id = ?1 " +
+            "order by i.id")
     List<Item> findByOwnerId(long userId, Pageable pageable);
 
+    @Query("select i from Item i " +
+            "where i.owner.id = ?1 " +
+            "and i.id > ?2 " +
+            "order by i.id")
+    List<Item> findByOwnerIdAndIdAfter(long userId, long itemId, Pageable pageable);
+
 }
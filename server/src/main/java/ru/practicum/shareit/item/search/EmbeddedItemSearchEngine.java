@@ -0,0 +1,153 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "embedded")
+public class EmbeddedItemSearchEngine implements ItemSearchEngine {
+
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MATCH_BONUS = 1;
+
+    private final ItemRepository itemRepository;
+    private final NavigableMap<String, Set<Long>> index = new ConcurrentSkipListMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new ConcurrentHashMap<>();
+
+    @Autowired
+    public EmbeddedItemSearchEngine(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        indexedItems.clear();
+        itemRepository.findAll().forEach(this::index);
+        log.info("Поисковый индекс вещей построен, проиндексировано: {}", indexedItems.size());
+    }
+
+    @Override
+    public List<ItemDto> search(String text, Pageable pageable) {
+        List<String> tokens = SearchQueryTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> candidates = null;
+        for (String token : tokens) {
+            Set<Long> matches = new HashSet<>();
+            index.subMap(token, token + Character.MAX_VALUE).values().forEach(matches::addAll);
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Long id : candidates) {
+            IndexedItem indexedItem = indexedItems.get(id);
+            if (indexedItem != null && indexedItem.available) {
+                scores.put(id, indexedItem.score(tokens));
+            }
+        }
+        List<Long> pageIds = scores.keySet().stream()
+                .sorted(Comparator.comparing((Long id) -> scores.get(id)).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+        if (pageIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, ItemDto> items = itemRepository.findAvailableItemDtosByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+        return pageIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        remove(item.getId());
+        IndexedItem indexedItem = new IndexedItem(
+                new HashSet<>(SearchQueryTokenizer.tokenize(item.getName())),
+                new HashSet<>(SearchQueryTokenizer.tokenize(item.getDescription())),
+                Boolean.TRUE.equals(item.getAvailable()));
+        indexedItems.put(item.getId(), indexedItem);
+        for (String token : indexedItem.tokens()) {
+            index.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(item.getId());
+        }
+    }
+
+    @Override
+    public void remove(long itemId) {
+        IndexedItem indexedItem = indexedItems.remove(itemId);
+        if (indexedItem == null) {
+            return;
+        }
+        for (String token : indexedItem.tokens()) {
+            index.computeIfPresent(token, (key, ids) -> {
+                ids.remove(itemId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private static final class IndexedItem {
+
+        private final Set<String> nameTokens;
+        private final Set<String> descriptionTokens;
+        private final boolean available;
+
+        private IndexedItem(Set<String> nameTokens, Set<String> descriptionTokens, boolean available) {
+            this.nameTokens = nameTokens;
+            this.descriptionTokens = descriptionTokens;
+            this.available = available;
+        }
+
+        private Set<String> tokens() {
+            Set<String> tokens = new HashSet<>(nameTokens);
+            tokens.addAll(descriptionTokens);
+            return tokens;
+        }
+
+        private int score(List<String> queryTokens) {
+            int score = 0;
+            for (String queryToken : queryTokens) {
+                score += score(nameTokens, queryToken, NAME_WEIGHT);
+                score += score(descriptionTokens, queryToken, DESCRIPTION_WEIGHT);
+            }
+            return score;
+        }
+
+        private static int score(Set<String> tokens, String queryToken, int weight) {
+            int score = 0;
+            for (String token : tokens) {
+                if (token.startsWith(queryToken)) {
+                    score += token.length() == queryToken.length() ? weight + EXACT_MATCH_BONUS : weight;
+                }
+            }
+            return score;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import java.util.List;
 
@@ -12,8 +13,12 @@ public interface ItemService {
 
     List<ItemDtoWithBooking> findAll(long userId, int from, int size);
 
+    CursorPage<ItemDtoWithBooking> findAllByCursor(long userId, String cursor, int size);
+
     ItemDto save(long userId, ItemDto itemDto);
 
+    List<ItemDto> saveAll(long userId, List<ItemDto> itemDtos);
+
     ItemDto update(long userId, long id, ItemDto itemDto);
 
     void deleteById(long itemId);
@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.enums.Status;
@@ -17,14 +19,24 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.view.ItemView;
+import ru.practicum.shareit.item.view.ItemViewCache;
+import ru.practicum.shareit.item.view.ItemViewChangedEvent;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,12 +51,17 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final CommentMapper commentMapper;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemViewCache itemViewCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository, ItemMapper itemMapper,
                            UserRepository userRepository, BookingRepository bookingRepository,
                            BookingMapper bookingMapper, CommentRepository commentRepository,
-                           CommentMapper commentMapper, ItemRequestRepository itemRequestRepository) {
+                           CommentMapper commentMapper, ItemRequestRepository itemRequestRepository,
+                           ItemSearchEngine itemSearchEngine, ItemViewCache itemViewCache,
+                           ApplicationEventPublisher eventPublisher) {
         this.itemRepository = itemRepository;
         this.itemMapper = itemMapper;
         this.userRepository = userRepository;
@@ -53,6 +70,9 @@ public class ItemServiceImpl implements ItemService {
         this.commentRepository = commentRepository;
         this.commentMapper = commentMapper;
         this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchEngine = itemSearchEngine;
+        this.itemViewCache = itemViewCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -60,18 +80,26 @@ public class ItemServiceImpl implements ItemService {
         log.info("Запрошен поиск по itemId: {}", itemId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new StorageException("Вещи с Id = " + itemId + " нет в БД"));
+        boolean owner = item.getOwner().getId() == userId;
+        return itemViewCache.get(itemId, owner, key -> toItemView(item, owner)).getItem();
+    }
+
+    private ItemView toItemView(Item item, boolean owner) {
         ItemDtoWithBooking itemDtoWithBooking = itemMapper
                 .toItemDtoWithBooking(item);
-        if (item.getOwner().getId() == userId) {
-            createItemDtoWithBooking(itemDtoWithBooking);
+        LocalDateTime expiresAt = null;
+        if (owner) {
+            LocalDateTime now = LocalDateTime.now();
+            createItemDtoWithBooking(itemDtoWithBooking, now);
+            expiresAt = bookingRepository.findNextBoundaryForItem(item.getId(), now).orElse(null);
         }
-        List<Comment> comments = commentRepository.findAllByItemId(itemId);
+        List<Comment> comments = commentRepository.findAllByItemId(item.getId());
         if (!comments.isEmpty()) {
             itemDtoWithBooking.setComments(comments
                     .stream().map(commentMapper::toCommentDto)
                     .collect(Collectors.toList()));
         }
-        return itemDtoWithBooking;
+        return new ItemView(itemDtoWithBooking, expiresAt);
     }
 
     @Override
@@ -79,37 +107,67 @@ public class ItemServiceImpl implements ItemService {
         log.info("Запрошен поиск item по userId: {}", userId);
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size);
-        List<ItemDtoWithBooking> result = itemRepository.findByOwnerId(userId, pageable).stream()
+        return toItemDtosWithBooking(itemRepository.findByOwnerId(userId, pageable));
+    }
+
+    @Override
+    public CursorPage<ItemDtoWithBooking> findAllByCursor(long userId, String cursor, int size) {
+        log.info("Запрошен поиск item по курсору для userId: {}", userId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Pageable pageable = PageRequest.of(0, size);
+        List<Item> items = after.isFirstPage()
+                ? itemRepository.findByOwnerId(userId, pageable)
+                : itemRepository.findByOwnerIdAndIdAfter(userId, after.getId(), pageable);
+        return CursorPage.of(toItemDtosWithBooking(items), size, Function.identity(),
+                item -> new KeysetCursor(null, item.getId()));
+    }
+
+    private List<ItemDtoWithBooking> toItemDtosWithBooking(List<Item> items) {
+        List<ItemDtoWithBooking> result = items.stream()
                 .map(itemMapper::toItemDtoWithBooking)
                 .collect(Collectors.toList());
+        if (result.isEmpty()) {
+            return result;
+        }
+        Set<Long> itemIds = result.stream()
+                .map(ItemDtoWithBooking::getId)
+                .collect(Collectors.toSet());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingDtoForItem> lastBookings = toBookingDtoForItemMap(bookingRepository
+                .findLastBookingsByItemIds(itemIds, now));
+        Map<Long, BookingDtoForItem> nextBookings = toBookingDtoForItemMap(bookingRepository
+                .findNextBookingsByItemIds(itemIds, now));
+        Map<Long, List<CommentDto>> comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::toCommentDto, Collectors.toList())));
         for (ItemDtoWithBooking itemDtoWithBooking : result) {
-            createItemDtoWithBooking(itemDtoWithBooking);
-            List<Comment> comments = commentRepository.findAllByItemId(itemDtoWithBooking.getId());
-            if (!comments.isEmpty()) {
-                itemDtoWithBooking.setComments(comments
-                        .stream().map(commentMapper::toCommentDto)
-                        .collect(Collectors.toList()));
+            itemDtoWithBooking.setLastBooking(lastBookings.get(itemDtoWithBooking.getId()));
+            itemDtoWithBooking.setNextBooking(nextBookings.get(itemDtoWithBooking.getId()));
+            List<CommentDto> itemComments = comments.get(itemDtoWithBooking.getId());
+            if (itemComments != null) {
+                itemDtoWithBooking.setComments(itemComments);
             }
         }
-        result.sort(Comparator.comparing(ItemDtoWithBooking::getId));
         return result;
     }
 
-    private void createItemDtoWithBooking(ItemDtoWithBooking itemDtoWithBooking) {
-        List<Booking> lastBookings = bookingRepository
-                .findBookingsByItemIdAndEndIsBeforeOrderByEndDesc(itemDtoWithBooking.getId(),
-                        LocalDateTime.now());
-        if (!lastBookings.isEmpty()) {
-            BookingDtoForItem lastBooking = bookingMapper.toBookingDtoForItem(lastBookings.get(0));
-            itemDtoWithBooking.setLastBooking(lastBooking);
-        }
-        List<Booking> nextBookings = bookingRepository
-                .findBookingsByItemIdAndStartIsAfterOrderByStartDesc(itemDtoWithBooking.getId(),
-                        LocalDateTime.now());
-        if (!nextBookings.isEmpty()) {
-            BookingDtoForItem nextBooking = bookingMapper.toBookingDtoForItem(nextBookings.get(0));
-            itemDtoWithBooking.setNextBooking(nextBooking);
-        }
+    private Map<Long, BookingDtoForItem> toBookingDtoForItemMap(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(booking -> booking.getItem().getId(),
+                        bookingMapper::toBookingDtoForItem,
+                        (first, second) -> first.getId() < second.getId() ? first : second));
+    }
+
+    private void createItemDtoWithBooking(ItemDtoWithBooking itemDtoWithBooking, LocalDateTime now) {
+        Pageable nearest = PageRequest.of(0, 1);
+        bookingRepository.findLastBookingForItem(itemDtoWithBooking.getId(), now, nearest)
+                .stream()
+                .findFirst()
+                .ifPresent(itemDtoWithBooking::setLastBooking);
+        bookingRepository.findNextBookingForItem(itemDtoWithBooking.getId(), now, nearest)
+                .stream()
+                .findFirst()
+                .ifPresent(itemDtoWithBooking::setNextBooking);
     }
 
     @Override
@@ -123,7 +181,41 @@ public class ItemServiceImpl implements ItemService {
             item.setItemRequest(itemRequestRepository.findById(requestId)
                     .orElseThrow(() -> new StorageException("Incorrect RequestId")));
         }
-        return itemMapper.toItemDto(itemRepository.save(item));
+        Item savedItem = itemRepository.save(item);
+        itemSearchEngine.index(savedItem);
+        return itemMapper.toItemDto(savedItem);
+    }
+
+    @Override
+    public List<ItemDto> saveAll(long userId, List<ItemDto> itemDtos) {
+        log.info("Запрошено пакетное сохранение {} вещей для userId: {}", itemDtos.size(), userId);
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new StorageException("Incorrect userId"));
+        Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        if (requests.size() != requestIds.size()) {
+            throw new StorageException("Incorrect RequestId");
+        }
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> {
+                    Item item = itemMapper.toItem(itemDto);
+                    item.setId(null);
+                    item.setOwner(owner);
+                    if (itemDto.getRequestId() != null) {
+                        item.setItemRequest(requests.get(itemDto.getRequestId()));
+                    }
+                    return item;
+                })
+                .collect(Collectors.toList());
+        List<Item> savedItems = itemRepository.saveAll(items);
+        savedItems.forEach(itemSearchEngine::index);
+        return savedItems.stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -143,14 +235,16 @@ public class ItemServiceImpl implements ItemService {
         comment.setItem(item);
         comment.setAuthor(user);
         commentRepository.save(comment);
+        eventPublisher.publishEvent(ItemViewChangedEvent.of(itemId));
         return commentMapper.toCommentDto(comment);
     }
 
     @Override
+    @Transactional
     public ItemDto update(long userId, long id, ItemDto itemDto) {
         log.info("Запрошен метод update ItemId: {}", id);
         try {
-            Item oldItem = itemRepository.findById(id).orElseThrow();
+            Item oldItem = itemRepository.findForUpdateById(id).orElseThrow();
 
             if (oldItem.getOwner().getId() == userId) {
 
@@ -163,7 +257,10 @@ public class ItemServiceImpl implements ItemService {
                 if (itemDto.getAvailable() != null) {
                     oldItem.setAvailable(itemDto.getAvailable());
                 }
-                return itemMapper.toItemDto(itemRepository.save(oldItem));
+                Item savedItem = itemRepository.saveAndFlush(oldItem);
+                itemSearchEngine.index(savedItem);
+                eventPublisher.publishEvent(ItemViewChangedEvent.of(id));
+                return itemMapper.toItemDto(savedItem);
             } else {
                 throw new StorageException("Incorrect userId");
             }
@@ -176,6 +273,8 @@ public class ItemServiceImpl implements ItemService {
     public void deleteById(long itemId) {
         log.info("Запрошен метод удаления item по id: {}", itemId);
         itemRepository.deleteById(itemId);
+        itemSearchEngine.remove(itemId);
+        eventPublisher.publishEvent(ItemViewChangedEvent.of(itemId));
     }
 
     @Override
@@ -184,11 +283,7 @@ public class ItemServiceImpl implements ItemService {
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size);
         if (!text.isBlank()) {
-            return itemRepository.search(text, pageable)
-                    .stream()
-                    .filter(Item::getAvailable)
-                    .map(itemMapper::toItemDto)
-                    .collect(Collectors.toList());
+            return itemSearchEngine.search(text, pageable);
         }
         return Collections.emptyList();
     }
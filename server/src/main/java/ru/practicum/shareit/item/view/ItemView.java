@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.view;
+
+import lombok.Value;
+import org.springframework.lang.Nullable;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+
+import java.time.LocalDateTime;
+
+@Value
+public class ItemView {
+
+    ItemDtoWithBooking item;
+    // Ближайшее начало или окончание бронирования, после которого lastBooking/nextBooking изменятся
+    @Nullable
+    LocalDateTime expiresAt;
+}
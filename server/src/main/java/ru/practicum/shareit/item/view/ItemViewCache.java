@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.view;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+@EnableConfigurationProperties(ItemViewProperties.class)
+public class ItemViewCache {
+
+    private final boolean enabled;
+    private final Cache<Key, ItemView> views;
+
+    @Autowired
+    public ItemViewCache(ItemViewProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        long ttlNanos = properties.getTtl().toNanos();
+        this.views = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfter(new Expiry<Key, ItemView>() {
+                    @Override
+                    public long expireAfterCreate(Key key, ItemView view, long currentTime) {
+                        return expiresIn(view, ttlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Key key, ItemView view, long currentTime, long currentDuration) {
+                        return expiresIn(view, ttlNanos);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Key key, ItemView view, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, views, "item-view");
+        log.info("Кэш представлений вещей: enabled={}, ttl={}, maxSize={}", enabled, properties.getTtl(),
+                properties.getMaxSize());
+    }
+
+    public ItemView get(long itemId, boolean owner, Function<Key, ItemView> loader) {
+        Key key = new Key(itemId, owner);
+        return enabled ? views.get(key, loader) : loader.apply(key);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemViewChanged(ItemViewChangedEvent event) {
+        Long itemId = event.getItemId();
+        if (itemId == null) {
+            views.invalidateAll();
+        } else {
+            views.invalidate(new Key(itemId, true));
+            views.invalidate(new Key(itemId, false));
+        }
+    }
+
+    // Представление владельца живёт не дольше, чем до ближайшей смены lastBooking/nextBooking
+    private static long expiresIn(ItemView view, long ttlNanos) {
+        if (view.getExpiresAt() == null) {
+            return ttlNanos;
+        }
+        long untilBoundary = Duration.between(LocalDateTime.now(), view.getExpiresAt()).toNanos();
+        return Math.max(0, Math.min(ttlNanos, untilBoundary));
+    }
+
+    @Value
+    public static class Key {
+        long itemId;
+        boolean owner;
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.view;
+
+import lombok.Value;
+import org.springframework.lang.Nullable;
+
+@Value
+public class ItemViewChangedEvent {
+
+    // null - устарели представления всех вещей
+    @Nullable
+    Long itemId;
+
+    public static ItemViewChangedEvent of(long itemId) {
+        return new ItemViewChangedEvent(itemId);
+    }
+
+    public static ItemViewChangedEvent all() {
+        return new ItemViewChangedEvent(null);
+    }
+}
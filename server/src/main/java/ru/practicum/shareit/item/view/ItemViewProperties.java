@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.view;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.item-view-cache")
+public class ItemViewProperties {
+
+    private boolean enabled = true;
+    private long maxSize = 10000;
+    // Кэш локален для процесса: изменения, сделанные через другие реплики, видны не позже чем через ttl
+    private Duration ttl = Duration.ofSeconds(5);
+}
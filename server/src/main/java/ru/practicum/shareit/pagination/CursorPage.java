@@ -0,0 +1,43 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "nextCursor";
+
+    private List<T> items;
+    private String nextCursor;
+
+    public static <E, T> CursorPage<T> of(List<E> entities, int size,
+                                          Function<E, T> mapper, Function<E, KeysetCursor> cursorOf) {
+        return ofBatch(entities, size, page -> page.stream().map(mapper).collect(Collectors.toList()), cursorOf);
+    }
+
+    public static <E, T> CursorPage<T> ofBatch(List<E> entities, int size,
+                                               Function<List<E>, List<T>> mapper,
+                                               Function<E, KeysetCursor> cursorOf) {
+        List<T> items = mapper.apply(entities);
+        String nextCursor = null;
+        if (!entities.isEmpty() && entities.size() >= size) {
+            nextCursor = cursorOf.apply(entities.get(entities.size() - 1)).encode();
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(items);
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.exception.CursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Data
+@AllArgsConstructor
+public class KeysetCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private LocalDateTime time;
+    private Long id;
+
+    public String encode() {
+        String value = (time == null ? "" : time.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new KeysetCursor(null, null);
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new CursorException("Incorrect cursor: " + cursor);
+            }
+            String time = value.substring(0, separator);
+            return new KeysetCursor(time.isEmpty() ? null : LocalDateTime.parse(time),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new CursorException("Incorrect cursor: " + cursor);
+        }
+    }
+
+    // Для страниц, упорядоченных по времени: курсор без времени (например, от /items) не подходит
+    public static KeysetCursor decodeTimed(String cursor) {
+        KeysetCursor decoded = decode(cursor);
+        if (!decoded.isFirstPage() && decoded.getTime() == null) {
+            throw new CursorException("Incorrect cursor: " + cursor);
+        }
+        return decoded;
+    }
+
+    public boolean isFirstPage() {
+        return id == null;
+    }
+}
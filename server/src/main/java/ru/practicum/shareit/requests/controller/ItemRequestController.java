@@ -2,6 +2,7 @@ package ru.practicum.shareit.requests.controller;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.dto.ItemRequestDtoWithItems;
@@ -35,10 +36,15 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDtoWithItems> findByRequestId(@RequestHeader("X-Sharer-User-Id") long userId,
-                                                         @RequestParam(defaultValue = "0") int from,
-                                                         @RequestParam(defaultValue = "20") int size) {
-        return service.findAllWithPageable(userId, from, size);
+    public ResponseEntity<List<ItemRequestDtoWithItems>> findByRequestId(
+            @RequestHeader("X-Sharer-User-Id") long userId,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            return service.findAllByCursor(userId, cursor, size).toResponseEntity();
+        }
+        return ResponseEntity.ok(service.findAllWithPageable(userId, from, size));
     }
 
     @GetMapping("/{requestId}")
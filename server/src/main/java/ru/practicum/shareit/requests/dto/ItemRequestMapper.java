@@ -3,25 +3,24 @@ package ru.practicum.shareit.requests.dto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.model.ItemRequest;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 public class ItemRequestMapper {
 
     private final ItemRepository itemRepository;
-    private final ItemMapper itemMapper;
 
     @Autowired
-    public ItemRequestMapper(ItemRepository itemRepository, ItemMapper itemMapper) {
+    public ItemRequestMapper(ItemRepository itemRepository) {
         this.itemRepository = itemRepository;
-        this.itemMapper = itemMapper;
     }
 
     public ItemRequestDto toItemRequestDto(ItemRequest itemRequest) {
@@ -38,18 +37,24 @@ public class ItemRequestMapper {
     }
 
     public ItemRequestDtoWithItems toItemRequestDtoWithItems(ItemRequest itemRequest) {
-        ItemRequestDtoWithItems itemRequestDtoWithItems = new ItemRequestDtoWithItems(itemRequest.getId(),
-                itemRequest.getDescription(),
-                itemRequest.getCreated(),
-                new ArrayList<>()
-        );
-        List<ItemDto> items = itemRepository.findAllByItemRequestId(itemRequestDtoWithItems.getId())
-                .stream().map(itemMapper::toItemDto).collect(Collectors.toList());
-        if (!items.isEmpty()) {
-            itemRequestDtoWithItems.setItems(items);
-        }
-        return itemRequestDtoWithItems;
+        return toItemRequestDtosWithItems(List.of(itemRequest)).get(0);
+    }
 
+    public List<ItemRequestDtoWithItems> toItemRequestDtosWithItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<Long> itemRequestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet());
+        Map<Long, List<ItemDto>> items = itemRepository.findItemDtosByItemRequestIdIn(itemRequestIds).stream()
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+        return itemRequests.stream()
+                .map(itemRequest -> new ItemRequestDtoWithItems(itemRequest.getId(),
+                        itemRequest.getDescription(),
+                        itemRequest.getCreated(),
+                        items.getOrDefault(itemRequest.getId(), new ArrayList<>())))
+                .collect(Collectors.toList());
     }
 
 }
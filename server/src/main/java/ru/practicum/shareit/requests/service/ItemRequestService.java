@@ -1,6 +1,7 @@
 package ru.practicum.shareit.requests.service;
 
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.requests.dto.ItemRequestDtoWithItems;
 
 import java.util.List;
@@ -14,5 +15,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDtoWithItems> findAllWithPageable(long userId, int from, int size);
 
+    CursorPage<ItemRequestDtoWithItems> findAllByCursor(long userId, String cursor, int size);
+
     void deleteById(long itemRequestId);
 }
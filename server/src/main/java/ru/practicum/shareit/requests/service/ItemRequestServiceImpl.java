@@ -4,18 +4,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.exception.StorageException;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.dto.ItemRequestDtoWithItems;
 import ru.practicum.shareit.requests.dto.ItemRequestMapper;
 import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -24,14 +25,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRequestMapper mapper;
     private final UserRepository userRepository;
+    private final UserExistenceService userExistence;
 
 
     @Autowired
-    public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository,
-                                  ItemRequestMapper mapper, UserRepository userRepository) {
+    public ItemRequestServiceImpl(ItemRequestRepository itemRequestRepository, ItemRequestMapper mapper,
+                                  UserRepository userRepository, UserExistenceService userExistence) {
         this.itemRequestRepository = itemRequestRepository;
         this.mapper = mapper;
         this.userRepository = userRepository;
+        this.userExistence = userExistence;
     }
 
     @Override
@@ -46,19 +49,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDtoWithItems> findAll(long userId) {
         log.info("Запрошен метод поиска всех запросов по userId: {}", userId);
-        userRepository.findById(userId).orElseThrow(() ->
-                new StorageException("Пользователя с Id = " + userId + " нет в БД"));
-        return itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId)
-                .stream()
-                .map(mapper::toItemRequestDtoWithItems)
-                .collect(Collectors.toList());
+        checkUserExists(userId);
+        return mapper.toItemRequestDtosWithItems(itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId));
     }
 
     @Override
     public ItemRequestDtoWithItems findById(long userId, long itemRequestId) {
         log.info("Запрошен метод поиска запроса по userId: {} и itemRequestId: {}", userId, itemRequestId);
-        userRepository.findById(userId).orElseThrow(() ->
-                new StorageException("Пользователя с Id = " + userId + " нет в БД"));
+        checkUserExists(userId);
         ItemRequest itemRequest = itemRequestRepository
                 .findById(itemRequestId).orElseThrow(() ->
                         new StorageException("Запроса с Id = " + itemRequestId + " нет в БД"));
@@ -68,14 +66,22 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestDtoWithItems> findAllWithPageable(long userId, int from, int size) {
         int page = from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.by("created"));
-        userRepository.findById(userId).orElseThrow(() ->
-                new StorageException("Пользователя с Id = " + userId + " нет в БД"));
-        return itemRequestRepository.findAll(pageable)
-                .stream()
-                .filter(itemRequest -> itemRequest.getRequestor().getId() != userId)
-                .map(mapper::toItemRequestDtoWithItems)
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(page, size);
+        checkUserExists(userId);
+        return mapper.toItemRequestDtosWithItems(itemRequestRepository.findOtherUsersRequests(userId, pageable));
+    }
+
+    @Override
+    public CursorPage<ItemRequestDtoWithItems> findAllByCursor(long userId, String cursor, int size) {
+        log.info("Запрошен метод поиска запросов других пользователей по курсору для userId: {}", userId);
+        checkUserExists(userId);
+        KeysetCursor after = KeysetCursor.decodeTimed(cursor);
+        Pageable pageable = PageRequest.of(0, size);
+        List<ItemRequest> itemRequests = after.isFirstPage()
+                ? itemRequestRepository.findOtherUsersRequests(userId, pageable)
+                : itemRequestRepository.findOtherUsersRequestsAfter(userId, after.getTime(), after.getId(), pageable);
+        return CursorPage.ofBatch(itemRequests, size, mapper::toItemRequestDtosWithItems,
+                itemRequest -> new KeysetCursor(itemRequest.getCreated(), itemRequest.getId()));
     }
 
     @Override
@@ -83,4 +89,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequestRepository.deleteById(itemRequestId);
     }
 
+    private void checkUserExists(long userId) {
+        if (!userExistence.exists(userId)) {
+            throw new StorageException("Пользователя с Id = " + userId + " нет в БД");
+        }
+    }
 }
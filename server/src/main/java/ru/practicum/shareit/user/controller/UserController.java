@@ -32,6 +32,12 @@ public class UserController {
         return userService.save(userDto);
     }
 
+    @PostMapping("/batch")
+    public List<UserDto> createAll(@RequestBody List<UserDto> userDtos) {
+        log.info("Получен запрос к эндпоинту: 'POST/users/batch', Пользователей: {}", userDtos.size());
+        return userService.saveAll(userDtos);
+    }
+
     @GetMapping("/{id}")
     public UserDto findUserById(@PathVariable long id) {
         log.info("GET user id={}", id);
@@ -1,8 +1,19 @@
 package ru.practicum.shareit.user.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+import java.util.Optional;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @Query("select u.id from User u where u.id > ?1 order by u.id")
+    List<Long> findIdsAfter(long id, Pageable pageable);
+
+    // Запрос идёт мимо кэша второго уровня: изменения пишутся поверх актуального состояния из БД
+    @Query("select u from User u where u.id = ?1")
+    Optional<User> findForUpdateById(long userId);
 }
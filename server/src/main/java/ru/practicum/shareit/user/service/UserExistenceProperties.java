@@ -0,0 +1,14 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.user-existence")
+public class UserExistenceProperties {
+
+    // Пользователь, удалённый через другую реплику, считается существующим не дольше ttl
+    private Duration ttl = Duration.ofSeconds(5);
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+// Битовая карта известных id; при промахе existsById, чтобы видеть пользователей других реплик.
+// Карта сбрасывается раз в ttl, чтобы удаление через другую реплику было видно не позже чем через ttl
+@Slf4j
+@Service
+@EnableConfigurationProperties(UserExistenceProperties.class)
+public class UserExistenceService {
+
+    private static final int WARM_UP_BATCH_SIZE = 10_000;
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+    private BitSet knownIds = new BitSet();
+    private volatile long generationStart;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public UserExistenceService(UserRepository userRepository, UserExistenceProperties properties,
+                                MeterRegistry meterRegistry) {
+        this(userRepository, properties, meterRegistry, System::nanoTime);
+    }
+
+    UserExistenceService(UserRepository userRepository, UserExistenceProperties properties,
+                         MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.userRepository = userRepository;
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.nanoTime = nanoTime;
+        this.generationStart = nanoTime.getAsLong();
+        Gauge.builder("shareit.user.existence.known", this, UserExistenceService::getKnownCount)
+                .description("Количество id пользователей в битовой карте")
+                .register(meterRegistry);
+        Gauge.builder("shareit.user.existence.memory", this, UserExistenceService::getMemoryFootprint)
+                .description("Размер битовой карты id пользователей")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        BitSet loaded = new BitSet();
+        long lastId = 0;
+        List<Long> ids;
+        do {
+            ids = userRepository.findIdsAfter(lastId, PageRequest.of(0, WARM_UP_BATCH_SIZE));
+            ids.stream().filter(UserExistenceService::isTracked).forEach(id -> loaded.set(id.intValue()));
+            if (!ids.isEmpty()) {
+                lastId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == WARM_UP_BATCH_SIZE);
+        lock.writeLock().lock();
+        try {
+            // Пользователи, добавленные во время прогрева, сохраняются; valueOf убирает запас от удвоения массива
+            loaded.or(knownIds);
+            knownIds = BitSet.valueOf(loaded.toLongArray());
+            generationStart = nanoTime.getAsLong();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Битовая карта пользователей заполнена: {} id, {} байт", getKnownCount(), getMemoryFootprint());
+    }
+
+    public boolean exists(long userId) {
+        if (isKnown(userId)) {
+            return true;
+        }
+        if (userRepository.existsById(userId)) {
+            add(userId);
+            return true;
+        }
+        return false;
+    }
+
+    public void add(long userId) {
+        if (!isTracked(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            resetIfExpired();
+            knownIds.set((int) userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        if (!isTracked(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            knownIds.clear((int) userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int getKnownCount() {
+        lock.readLock().lock();
+        try {
+            return knownIds.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Размер зависит от максимального известного id, а не от числа пользователей
+    public long getMemoryFootprint() {
+        lock.readLock().lock();
+        try {
+            return knownIds.size() / Byte.SIZE;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isKnown(long userId) {
+        if (!isTracked(userId)) {
+            return false;
+        }
+        if (nanoTime.getAsLong() - generationStart >= ttlNanos) {
+            lock.writeLock().lock();
+            try {
+                resetIfExpired();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return knownIds.get((int) userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void resetIfExpired() {
+        long now = nanoTime.getAsLong();
+        if (now - generationStart < ttlNanos) {
+            return;
+        }
+        knownIds = new BitSet();
+        generationStart = now;
+    }
+
+    // Id вне диапазона int в карту не попадают и всегда проверяются запросом
+    private static boolean isTracked(long userId) {
+        return userId > 0 && userId <= Integer.MAX_VALUE;
+    }
+}
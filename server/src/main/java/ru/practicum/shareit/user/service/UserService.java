@@ -12,6 +12,8 @@ public interface UserService {
 
     UserDto save(UserDto userDto);
 
+    List<UserDto> saveAll(List<UserDto> userDtos);
+
     UserDto update(long userId, UserDto userDto);
 
     void deleteById(long userId);
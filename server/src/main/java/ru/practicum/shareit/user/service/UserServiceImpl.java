@@ -2,10 +2,14 @@ package ru.practicum.shareit.user.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.StorageException;
+import ru.practicum.shareit.item.view.ItemViewChangedEvent;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
@@ -17,11 +21,16 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserExistenceService userExistence;
 
     @Autowired
-    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper) {
+    public UserServiceImpl(UserRepository userRepository, UserMapper userMapper,
+                           ApplicationEventPublisher eventPublisher, UserExistenceService userExistence) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
+        this.eventPublisher = eventPublisher;
+        this.userExistence = userExistence;
     }
 
     @Override
@@ -39,24 +48,48 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto save(UserDto userDto) {
-        return userMapper.toUserDto(userRepository.save(userMapper.toUser(userDto)));
+        UserDto savedUser = userMapper.toUserDto(userRepository.save(userMapper.toUser(userDto)));
+        userExistence.add(savedUser.getId());
+        return savedUser;
     }
 
     @Override
+    public List<UserDto> saveAll(List<UserDto> userDtos) {
+        log.info("Запрошено пакетное создание пользователей: {}", userDtos.size());
+        List<User> users = userDtos.stream()
+                .map(userMapper::toUser)
+                .collect(Collectors.toList());
+        // Пакет всегда создаёт новых пользователей: с id save сделал бы merge и лишний select на каждого
+        users.forEach(user -> user.setId(null));
+        List<User> savedUsers = userRepository.saveAll(users);
+        savedUsers.forEach(user -> userExistence.add(user.getId()));
+        return savedUsers.stream()
+                .map(userMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
     public UserDto update(long userId, UserDto userDto) {
-        UserDto oldUserDto = findById(userId);
+        User user = userRepository.findForUpdateById(userId)
+                .orElseThrow(() -> new StorageException("Пользователя с Id = " + userId + " нет в БД"));
         if (userDto.getName() != null) {
-            oldUserDto.setName(userDto.getName());
+            user.setName(userDto.getName());
         }
         if (userDto.getEmail() != null) {
-            oldUserDto.setEmail(userDto.getEmail());
+            user.setEmail(userDto.getEmail());
         }
-        return userMapper.toUserDto(userRepository.save(userMapper.toUser(oldUserDto)));
+        UserDto savedUser = userMapper.toUserDto(userRepository.saveAndFlush(user));
+        // Имя пользователя входит в комментарии всех вещей, которые он комментировал
+        eventPublisher.publishEvent(ItemViewChangedEvent.all());
+        return savedUser;
     }
 
     @Override
     public void deleteById(long userId) {
         userRepository.deleteById(userId);
+        userExistence.remove(userId);
+        eventPublisher.publishEvent(ItemViewChangedEvent.all());
     }
 
 }
@@ -0,0 +1,19 @@
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (
+                                     setweight(to_tsvector('russian', item_name), 'A') ||
+                                     setweight(to_tsvector('english', item_name), 'A') ||
+                                     setweight(to_tsvector('russian', description), 'B') ||
+                                     setweight(to_tsvector('english', description), 'B')
+) STORED;
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING GIN (search_vector);
+
+-- Базы, созданные до перехода на последовательности: снимаем IDENTITY и продолжаем нумерацию после существующих id
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY IF EXISTS;
+SELECT setval('users_seq', (SELECT COALESCE(MAX(user_id), 0) + 1 FROM users), false) FROM users_seq WHERE NOT is_called;
+SELECT setval('requests_seq', (SELECT COALESCE(MAX(request_id), 0) + 1 FROM requests), false) FROM requests_seq WHERE NOT is_called;
+SELECT setval('items_seq', (SELECT COALESCE(MAX(item_id), 0) + 1 FROM items), false) FROM items_seq WHERE NOT is_called;
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(booking_id), 0) + 1 FROM bookings), false) FROM bookings_seq WHERE NOT is_called;
+SELECT setval('comments_seq', (SELECT COALESCE(MAX(comment_id), 0) + 1 FROM comments), false) FROM comments_seq WHERE NOT is_called;
@@ -1,11 +1,17 @@
+-- Шаг последовательностей равен allocationSize в сущностях: Hibernate раздаёт id блоками без запроса на каждую вставку
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS users (
-                                     user_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                                     user_id BIGINT PRIMARY KEY,
                                      user_name VARCHAR(255) NOT NULL,
                                      email VARCHAR(255) NOT NULL,
                                      UNIQUE (email)
 );
 CREATE TABLE IF NOT EXISTS requests (
-                                     request_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                                     request_id BIGINT PRIMARY KEY,
                                      description VARCHAR(255) NOT NULL,
                                      requestor_id BIGINT,
                                      created timestamp WITHOUT TIME ZONE,
@@ -13,7 +19,7 @@ CREATE TABLE IF NOT EXISTS requests (
                                      REFERENCES users(user_id)
 );
 CREATE TABLE IF NOT EXISTS items (
-                                     item_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                                     item_id BIGINT PRIMARY KEY,
                                      item_name VARCHAR(255) NOT NULL,
                                      description VARCHAR(255) NOT NULL,
                                      available boolean NOT NULL,
@@ -22,7 +28,7 @@ CREATE TABLE IF NOT EXISTS items (
                                      CONSTRAINT fk_items_to_users FOREIGN KEY(owner_id) REFERENCES users(user_id)
 );
 CREATE TABLE IF NOT EXISTS bookings (
-                                      booking_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                                      booking_id BIGINT PRIMARY KEY,
                                       start_date timestamp WITHOUT TIME ZONE NOT NULL,
                                       end_date timestamp WITHOUT TIME ZONE NOT NULL,
                                       item_id BIGINT,
@@ -32,11 +38,26 @@ CREATE TABLE IF NOT EXISTS bookings (
                                       CONSTRAINT fk_bookings_to_users FOREIGN KEY(booker_id) REFERENCES users(user_id)
 );
 CREATE TABLE IF NOT EXISTS comments (
-                                      comment_id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                                      comment_id BIGINT PRIMARY KEY,
                                       comment_text VARCHAR(512) NOT NULL,
                                       item_id BIGINT,
                                       author_id BIGINT,
                                       created timestamp WITHOUT TIME ZONE NOT NULL,
                                       CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(item_id),
                                       CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(user_id)
-);
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date, booking_id);
+CREATE INDEX IF NOT EXISTS idx_requests_feed ON requests (created, request_id, requestor_id);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, item_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+-- Соответствие id партнёра (source) и id ShareIt для импортированных строк, по нему разрешаются ссылки между файлами.
+-- external_id первым в ключе: H2 использует индекс для external_id IN (...) только по ведущей колонке
+CREATE TABLE IF NOT EXISTS import_keys (
+                                      source VARCHAR(64) NOT NULL,
+                                      entity VARCHAR(16) NOT NULL,
+                                      external_id VARCHAR(64) NOT NULL,
+                                      id BIGINT NOT NULL,
+                                      PRIMARY KEY (external_id, source, entity)
+);
@@ -0,0 +1,62 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.requests.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public abstract class AbstractQueryCountTest {
+
+    @Autowired
+    protected EntityManagerFactory entityManagerFactory;
+    @Autowired
+    protected UserRepository userRepository;
+    @Autowired
+    protected ItemRequestRepository itemRequestRepository;
+    @Autowired
+    protected ItemRepository itemRepository;
+    @Autowired
+    protected BookingRepository bookingRepository;
+    @Autowired
+    protected CommentRepository commentRepository;
+
+    protected Statistics statistics;
+
+    @BeforeEach
+    void initStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void deleteAll() {
+        commentRepository.deleteAllInBatch();
+        bookingRepository.deleteAllInBatch();
+        itemRepository.deleteAllInBatch();
+        itemRequestRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    protected long countStatements(Runnable call) {
+        statistics.clear();
+        call.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    protected void assertCounts(long statements, long entityLoads) {
+        assertEquals(statements, statistics.getPrepareStatementCount(), "prepared statements");
+        assertEquals(entityLoads, statistics.getEntityLoadCount(), "entity loads");
+    }
+}
@@ -14,9 +14,13 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoSimple;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ErrorHandler;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
@@ -48,6 +52,7 @@ class BookingControllerTest {
     void beforeEach() {
         mockMvc = MockMvcBuilders
                 .standaloneSetup(bookingController)
+                .setControllerAdvice(new ErrorHandler())
                 .build();
         mapper.registerModule(new JavaTimeModule());
         booking = createBooking();
@@ -75,7 +80,8 @@ class BookingControllerTest {
                         .header("X-Sharer-User-Id", bookingDto.getBooker().getId())
                         .param("state", "ALL")
                         .param("from", "0")
-                        .param("size", "20"))
+                        .param("size", "20")
+                        .param("view", "full"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("[{\"id\": 1," +
                         " \"item\": {\"id\": 1,\"name\": \"item\"," +
@@ -87,6 +93,24 @@ class BookingControllerTest {
                 .findAll(bookingDto.getBooker().getId(), "ALL", 0, 20);
     }
 
+    @Test
+    void findAllByCursor() throws Exception {
+        BookingDto bookingDto = bookingMapper.toBookingDto(booking);
+        String nextCursor = new KeysetCursor(booking.getStart(), booking.getId()).encode();
+        when(bookingService.findAllByCursor(bookingDto.getBooker().getId(), "ALL", "", 1))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), nextCursor));
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", bookingDto.getBooker().getId())
+                        .param("state", "ALL")
+                        .param("size", "1")
+                        .param("cursor", "")
+                        .param("view", "full"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, nextCursor))
+                .andExpect(jsonPath("$[0].id", is(1)));
+        verify(bookingService, never()).findAll(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
     @Test
     void findAllByOwner() throws Exception {
         List<BookingDto> bookingDtos = new ArrayList<>();
@@ -99,7 +123,8 @@ class BookingControllerTest {
                         .header("X-Sharer-User-Id", bookingDto.getItem().getOwner().getId())
                         .param("state", "ALL")
                         .param("from", "0")
-                        .param("size", "20"))
+                        .param("size", "20")
+                        .param("view", "full"))
                 .andExpect(status().isOk())
                 .andExpect(content().json("[{\"id\": 1," +
                         " \"item\": {\"id\": 1,\"name\": \"item\"," +
@@ -111,6 +136,54 @@ class BookingControllerTest {
                 .findAllByItemOwnerId(bookingDto.getItem().getOwner().getId(), "ALL", 0, 20);
     }
 
+    @Test
+    void findAllCompactByDefault() throws Exception {
+        BookingShortDto bookingShortDto = new BookingShortDto(booking.getId(), booking.getStart(),
+                booking.getEnd(), booking.getStatus(), booking.getItem().getId(), booking.getItem().getName(),
+                booking.getBooker().getId());
+        when(bookingService.findAllShort(booking.getBooker().getId(), "ALL", 0, 20))
+                .thenReturn(List.of(bookingShortDto));
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booking.getBooker().getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].item.id", is(1)))
+                .andExpect(jsonPath("$[0].item.name", is("item")))
+                .andExpect(jsonPath("$[0].item.owner").doesNotExist())
+                .andExpect(jsonPath("$[0].booker.id", is(2)))
+                .andExpect(jsonPath("$[0].booker.email").doesNotExist());
+        verify(bookingService, never()).findAll(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void findAllByOwnerCompactByDefault() throws Exception {
+        BookingShortDto bookingShortDto = new BookingShortDto(booking.getId(), booking.getStart(),
+                booking.getEnd(), booking.getStatus(), booking.getItem().getId(), booking.getItem().getName(),
+                booking.getBooker().getId());
+        when(bookingService.findAllShortByItemOwnerId(booking.getItem().getOwner().getId(), "ALL", 0, 20))
+                .thenReturn(List.of(bookingShortDto));
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", booking.getItem().getOwner().getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].item.name", is("item")))
+                .andExpect(jsonPath("$[0].item.description").doesNotExist())
+                .andExpect(jsonPath("$[0].booker.id", is(2)));
+        verify(bookingService, never()).findAllByItemOwnerId(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void unknownViewIsRejected() throws Exception {
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 2L)
+                        .param("view", "ful"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("view", "FULL"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookingService);
+    }
+
     @Test
     void create() throws Exception {
         booking.setStart(LocalDateTime.now().plusDays(1));
@@ -5,7 +5,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDtoForItem;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.model.Item;
@@ -14,7 +17,9 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -70,15 +75,6 @@ class BookingRepositoryTest {
         assertEquals(0, bookings.size());
     }
 
-    @Test
-    void searchBookingByItemOwnerIdTest() {
-        final List<Booking> bookings = bookingRepository.searchBookingByItemOwnerId(owner.getId(),
-                Pageable.unpaged());
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertSame(booking, bookings.get(0));
-    }
-
     @Test
     void searchBookingByBookerIdAndItemIdAndEndIsBeforeAndStatusTest() {
         final List<Booking> bookings = bookingRepository
@@ -92,52 +88,47 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void startBookingIsAfterTest() {
-        List<Booking> bookings;
-        final Booking booking1 = bookingRepository.save(new Booking(2L, LocalDateTime.now().plusDays(5),
-                LocalDateTime.now().plusDays(10),
+    void findLastBookingForItemTest() {
+        bookingRepository.save(new Booking(2L, LocalDateTime.now().minusDays(10),
+                LocalDateTime.now().minusDays(8),
                 item, booker, Status.APPROVED));
-        bookings = bookingRepository
-                .searchBookingByItemOwnerIdAndStartIsAfter(owner.getId(),
+        final List<BookingDtoForItem> bookings = bookingRepository
+                .findLastBookingForItem(item.getId(),
                         LocalDateTime.now(),
-                        Pageable.unpaged());
+                        PageRequest.of(0, 1));
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        assertSame(booking1, bookings.get(0));
-    }
-
-    @Test
-    void findBookingsByItemIdAndEndIsBeforeOrderByEndDescTest() {
-        final List<Booking> bookings = bookingRepository
-                .findBookingsByItemIdAndEndIsBeforeOrderByEndDesc(item.getId(),
-                        LocalDateTime.now());
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertSame(booking, bookings.get(0));
+        assertEquals(booking.getId(), bookings.get(0).getId());
+        assertEquals(booker.getId(), bookings.get(0).getBookerId());
     }
 
     @Test
-    void findBookingsByItemIdTest() {
-        List<Booking> bookings = bookingRepository
-                .findBookingsByItemIdAndStartIsAfterOrderByStartDesc(item.getId(),
-                        LocalDateTime.now());
+    void findNextBookingForItemEmptyTest() {
+        List<BookingDtoForItem> bookings = bookingRepository
+                .findNextBookingForItem(item.getId(),
+                        LocalDateTime.now(),
+                        PageRequest.of(0, 1));
         assertNotNull(bookings);
         assertEquals(0, bookings.size());
     }
 
     @Test
-    void startIsAfterOrderByStartDescTest() {
-        List<Booking> bookings;
+    void findNextBookingForItemTest() {
         final Booking booking1 = bookingRepository.save(new Booking(2L,
                 LocalDateTime.now().plusDays(5),
                 LocalDateTime.now().plusDays(10),
                 item, booker, Status.APPROVED));
-        bookings = bookingRepository
-                .findBookingsByItemIdAndStartIsAfterOrderByStartDesc(item.getId(),
-                        LocalDateTime.now());
+        bookingRepository.save(new Booking(3L,
+                LocalDateTime.now().plusDays(15),
+                LocalDateTime.now().plusDays(20),
+                item, booker, Status.APPROVED));
+        List<BookingDtoForItem> bookings = bookingRepository
+                .findNextBookingForItem(item.getId(),
+                        LocalDateTime.now(),
+                        PageRequest.of(0, 1));
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        assertSame(booking1, bookings.get(0));
+        assertEquals(booking1.getId(), bookings.get(0).getId());
     }
 
     @Test
@@ -151,16 +142,6 @@ class BookingRepositoryTest {
         assertSame(booking, bookings.get(0));
     }
 
-    @Test
-    void findBookingsByItemOwnerIdTest() {
-        final List<Booking> bookings = bookingRepository
-                .findBookingsByItemOwnerId(item.getOwner().getId(),
-                        Pageable.unpaged());
-        assertNotNull(bookings);
-        assertEquals(1, bookings.size());
-        assertSame(booking, bookings.get(0));
-    }
-
     @Test
     void findCurrentBookingsByBookerIdTest() {
         List<Booking> bookings;
@@ -178,40 +159,120 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findCurrentBookingsByItemOwnerIdTest() {
-        List<Booking> bookings;
-        final Booking booking1 = bookingRepository.save(new Booking(2L,
-                LocalDateTime.now().minusDays(5),
-                LocalDateTime.now().plusDays(10),
-                item, booker, Status.APPROVED));
-        bookings = bookingRepository
-                .findCurrentBookingsByItemOwnerId(item.getOwner().getId(),
+    void findBookingsByBookerIdAndEndIsBeforeTest() {
+        final List<Booking> bookings = bookingRepository
+                .findBookingsByBookerIdAndEndIsBefore(booker.getId(),
                         LocalDateTime.now(),
                         Pageable.unpaged());
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        assertSame(booking1, bookings.get(0));
+        assertSame(booking, bookings.get(0));
     }
 
     @Test
-    void findBookingsByBookerIdAndEndIsBeforeTest() {
+    void findLastBookingsByItemIdsTest() {
+        bookingRepository.save(new Booking(2L, LocalDateTime.now().minusDays(10),
+                LocalDateTime.now().minusDays(8),
+                item, booker, Status.APPROVED));
         final List<Booking> bookings = bookingRepository
-                .findBookingsByBookerIdAndEndIsBefore(booker.getId(),
-                        LocalDateTime.now(),
-                        Pageable.unpaged());
+                .findLastBookingsByItemIds(Set.of(item.getId()), LocalDateTime.now());
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertSame(booking, bookings.get(0));
     }
 
     @Test
-    void findBookingsByItemOwnerIdAndEndIsBeforeTest() {
+    void findNextBookingsByItemIdsTest() {
+        final Booking nearest = bookingRepository.save(new Booking(2L, LocalDateTime.now().plusDays(5),
+                LocalDateTime.now().plusDays(10),
+                item, booker, Status.APPROVED));
+        bookingRepository.save(new Booking(3L, LocalDateTime.now().plusDays(15),
+                LocalDateTime.now().plusDays(20),
+                item, booker, Status.APPROVED));
         final List<Booking> bookings = bookingRepository
-                .findBookingsByItemOwnerIdAndEndIsBefore(item.getOwner().getId(),
-                        LocalDateTime.now(),
-                        Pageable.unpaged());
+                .findNextBookingsByItemIds(Set.of(item.getId()), LocalDateTime.now());
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
-        assertSame(booking, bookings.get(0));
+        assertSame(nearest, bookings.get(0));
+    }
+
+    @Test
+    void findByCriteriaForBookerWithKeysetTest() {
+        final LocalDateTime start = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.SECONDS);
+        final Booking future1 = bookingRepository.save(new Booking(null, start,
+                start.plusDays(1), item, booker, Status.WAITING));
+        final Booking future2 = bookingRepository.save(new Booking(null, start,
+                start.plusDays(2), item, booker, Status.WAITING));
+        final LocalDateTime now = LocalDateTime.now();
+
+        final List<Booking> firstPage = bookingRepository
+                .findByCriteria(BookingCriteria.forBooker(booker.getId(), Status.ALL, now), 0, 2);
+        assertEquals(List.of(future2, future1), firstPage);
+
+        final List<Booking> secondPage = bookingRepository
+                .findByCriteria(BookingCriteria.forBooker(booker.getId(), Status.ALL, now)
+                        .after(future1.getStart(), future1.getId()), 0, 2);
+        assertEquals(List.of(booking), secondPage);
+
+        final List<Booking> waiting = bookingRepository
+                .findByCriteria(BookingCriteria.forBooker(booker.getId(), Status.WAITING, now), 0, 10);
+        assertEquals(List.of(future2, future1), waiting);
+
+        final List<Booking> past = bookingRepository
+                .findByCriteria(BookingCriteria.forBooker(booker.getId(), Status.PAST, now), 0, 10);
+        assertEquals(List.of(booking), past);
+
+        final List<Booking> ownerFuture = bookingRepository
+                .findByCriteria(BookingCriteria.forOwner(owner.getId(), Status.FUTURE, now), 1, 10);
+        assertEquals(List.of(future1), ownerFuture);
+
+        assertTrue(bookingRepository
+                .findByCriteria(BookingCriteria.forBooker(owner.getId(), Status.ALL, now), 0, 10)
+                .isEmpty());
+    }
+
+    @Test
+    void findByCriteriaForOwnerEveryStateTest() {
+        final Booking current = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1), item, booker, Status.APPROVED));
+        final Booking waiting = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(5),
+                LocalDateTime.now().plusDays(6), item, booker, Status.WAITING));
+        final Booking rejected = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(7),
+                LocalDateTime.now().plusDays(8), item, booker, Status.REJECTED));
+        final LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(List.of(rejected, waiting, current, booking), findForOwner(Status.ALL, now));
+        assertEquals(List.of(current), findForOwner(Status.CURRENT, now));
+        assertEquals(List.of(booking), findForOwner(Status.PAST, now));
+        assertEquals(List.of(rejected, waiting), findForOwner(Status.FUTURE, now));
+        assertEquals(List.of(waiting), findForOwner(Status.WAITING, now));
+        assertEquals(List.of(rejected), findForOwner(Status.REJECTED, now));
+        assertTrue(bookingRepository
+                .findByCriteria(BookingCriteria.forOwner(booker.getId(), Status.ALL, now), 0, 10)
+                .isEmpty());
+    }
+
+    private List<Booking> findForOwner(Status state, LocalDateTime now) {
+        return bookingRepository.findByCriteria(BookingCriteria.forOwner(owner.getId(), state, now), 0, 10);
+    }
+
+    @Test
+    void findShortByCriteriaTest() {
+        final LocalDateTime start = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.SECONDS);
+        final Booking waiting = bookingRepository.save(new Booking(null, start,
+                start.plusDays(1), item, booker, Status.WAITING));
+        final LocalDateTime now = LocalDateTime.now();
+
+        final List<BookingShortDto> bookings = bookingRepository
+                .findShortByCriteria(BookingCriteria.forOwner(owner.getId(), Status.ALL, now), 0, 10);
+        assertEquals(2, bookings.size());
+        assertEquals(new BookingShortDto(waiting.getId(), waiting.getStart(), waiting.getEnd(),
+                Status.WAITING, item.getId(), item.getName(), booker.getId()), bookings.get(0));
+        assertEquals(booking.getId(), bookings.get(1).getId());
+
+        final List<BookingShortDto> past = bookingRepository
+                .findShortByCriteria(BookingCriteria.forBooker(booker.getId(), Status.PAST, now), 0, 10);
+        assertEquals(1, past.size());
+        assertEquals(booking.getId(), past.get(0).getId());
     }
-}
\ No newline at end of file
+}
@@ -2,24 +2,33 @@ package ru.practicum.shareit.booking.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingCriteria;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.exception.CursorException;
 import ru.practicum.shareit.exception.StorageException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.view.ItemViewChangedEvent;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -34,6 +43,8 @@ class BookingServiceImplTest {
     private ItemRepository itemRepository;
     private UserRepository userRepository;
     private BookingMapper bookingMapper;
+    private ApplicationEventPublisher eventPublisher;
+    private UserExistenceService userExistence;
     private Booking booking;
 
     @BeforeEach
@@ -42,8 +53,10 @@ class BookingServiceImplTest {
         userRepository = mock(UserRepository.class);
         bookingRepository = mock(BookingRepository.class);
         bookingMapper = new BookingMapper();
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        userExistence = mock(UserExistenceService.class);
         bookingService = new BookingServiceImpl(bookingRepository, itemRepository,
-                userRepository, bookingMapper);
+                userRepository, bookingMapper, eventPublisher, userExistence);
         booking = createBooking();
     }
 
@@ -83,8 +96,7 @@ class BookingServiceImplTest {
 
     @Test
     void findAllBookingsTest() {
-        when(userRepository.findById(booking.getBooker().getId()))
-                .thenReturn(Optional.of(booking.getBooker()));
+        when(userExistence.exists(booking.getBooker().getId())).thenReturn(true);
         when(bookingRepository.findByBookerId(booking.getBooker().getId(),
                 PageRequest.of(0, 20, Sort.by("start").descending())))
                 .thenReturn(Collections.singletonList(booking));
@@ -101,8 +113,7 @@ class BookingServiceImplTest {
     @Test
     void findAllByStatusWaitingTest() {
         booking.setStatus(WAITING);
-        when(userRepository.findById(booking.getBooker().getId()))
-                .thenReturn(Optional.of(booking.getBooker()));
+        when(userExistence.exists(booking.getBooker().getId())).thenReturn(true);
         when(bookingRepository.findBookingsByBookerIdAndStatus(booking.getBooker().getId(),
                 WAITING,
                 PageRequest.of(0, 20, Sort.by("start").descending())))
@@ -122,8 +133,7 @@ class BookingServiceImplTest {
     @Test
     void findAllByStatusRejectTest() {
         booking.setStatus(REJECTED);
-        when(userRepository.findById(booking.getBooker().getId()))
-                .thenReturn(Optional.of(booking.getBooker()));
+        when(userExistence.exists(booking.getBooker().getId())).thenReturn(true);
         when(bookingRepository.findBookingsByBookerIdAndStatus(booking.getBooker().getId(),
                 REJECTED,
                 PageRequest.of(0, 20, Sort.by("start").descending())))
@@ -150,7 +160,7 @@ class BookingServiceImplTest {
         booking.setStatus(WAITING);
         when(userRepository.findById(booking.getBooker().getId()))
                 .thenReturn(Optional.of(booking.getBooker()));
-        when(itemRepository.findById(booking.getItem().getId()))
+        when(itemRepository.findDetailedById(booking.getItem().getId()))
                 .thenReturn(Optional.of(booking.getItem()));
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -161,6 +171,38 @@ class BookingServiceImplTest {
         assertEquals("user2", bookingDto.getBooker().getName());
         assertEquals(booking.getId(), bookingDto.getId());
         verify(bookingRepository, times(1)).save(booking);
+        verify(eventPublisher, times(1)).publishEvent(ItemViewChangedEvent.of(booking.getItem().getId()));
+    }
+
+    @Test
+    void saveAllBookingsTest() {
+        long bookerId = booking.getBooker().getId();
+        long itemId = booking.getItem().getId();
+        when(userRepository.findById(bookerId))
+                .thenReturn(Optional.of(booking.getBooker()));
+        when(itemRepository.findDetailedByIdIn(Set.of(itemId)))
+                .thenReturn(List.of(booking.getItem()));
+        when(bookingRepository.saveAll(anyList()))
+                .thenReturn(List.of(booking));
+        List<BookingDto> bookings = bookingService.saveAll(List.of(toBookingDtoSimple(booking)), bookerId);
+        assertEquals(List.of(bookingMapper.toBookingDto(booking)), bookings);
+        verify(bookingRepository).saveAll(argThat(saved -> {
+            Booking first = saved.iterator().next();
+            return first.getId() == null && first.getBooker() == booking.getBooker()
+                    && first.getItem() == booking.getItem() && first.getStatus() == WAITING;
+        }));
+        verify(eventPublisher, times(1)).publishEvent(ItemViewChangedEvent.of(itemId));
+
+        long ownerId = booking.getItem().getOwner().getId();
+        when(userRepository.findById(ownerId))
+                .thenReturn(Optional.of(booking.getItem().getOwner()));
+        assertThrows(StorageException.class,
+                () -> bookingService.saveAll(List.of(toBookingDtoSimple(booking)), ownerId));
+        when(itemRepository.findDetailedByIdIn(Set.of(itemId)))
+                .thenReturn(Collections.emptyList());
+        assertThrows(StorageException.class,
+                () -> bookingService.saveAll(List.of(toBookingDtoSimple(booking)), bookerId));
+        verify(bookingRepository, times(1)).saveAll(anyList());
     }
 
     @Test
@@ -187,12 +229,16 @@ class BookingServiceImplTest {
         assertEquals(REJECTED, bookingDto.getStatus());
         assertEquals(booking.getId(), bookingDto.getId());
         verify(bookingRepository, times(1)).save(booking2);
+        verify(eventPublisher, times(1)).publishEvent(ItemViewChangedEvent.of(booking.getItem().getId()));
     }
 
     @Test
     void deleteByIdBookingTest() {
+        when(bookingRepository.findById(booking.getId()))
+                .thenReturn(Optional.of(booking));
         bookingService.deleteById(booking.getId());
         verify(bookingRepository, times(1)).deleteById(booking.getId());
+        verify(eventPublisher, times(1)).publishEvent(ItemViewChangedEvent.of(booking.getItem().getId()));
     }
 
     @Test
@@ -214,20 +260,78 @@ class BookingServiceImplTest {
 
     @Test
     void findAllByItemOwnerIdTest() {
+        long ownerId = booking.getItem().getOwner().getId();
         BookingDto bookingDto = bookingMapper.toBookingDto(booking);
-        when(userRepository.findById(booking.getItem().getOwner().getId()))
-                .thenReturn(Optional.of(booking.getBooker()));
-        when(bookingRepository.searchBookingByItemOwnerId(booking.getItem().getOwner().getId(),
-                PageRequest.of(0, 20, Sort.by("start").descending())))
+        when(userExistence.exists(ownerId)).thenReturn(true);
+        when(itemRepository.existsByOwnerId(ownerId)).thenReturn(true);
+        when(bookingRepository.findByCriteria(any(BookingCriteria.class), eq(20L), eq(10)))
                 .thenReturn(Collections.singletonList(booking));
         List<BookingDto> bookings = bookingService
-                .findAllByItemOwnerId(booking.getItem().getOwner().getId(),
-                        "ALL", 0, 20);
+                .findAllByItemOwnerId(ownerId, "WAITING", 25, 10);
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertEquals(bookingDto, bookings.get(0));
         verify(bookingRepository, times(1))
-                .searchBookingByItemOwnerId(booking.getItem().getOwner().getId(),
-                        PageRequest.of(0, 20, Sort.by("start").descending()));
+                .findByCriteria(argThat(criteria -> criteria.getOwnerId() == ownerId
+                        && criteria.getState() == WAITING), eq(20L), eq(10));
+
+        when(itemRepository.existsByOwnerId(ownerId)).thenReturn(false);
+        assertThrows(StorageException.class,
+                () -> bookingService.findAllByItemOwnerId(ownerId, "ALL", 0, 20));
+        when(itemRepository.existsByOwnerId(ownerId)).thenReturn(true);
+        assertThrows(BookingException.class,
+                () -> bookingService.findAllByItemOwnerId(ownerId, "UNKNOWN", 0, 20));
+    }
+
+    @Test
+    void findAllShortTest() {
+        long bookerId = booking.getBooker().getId();
+        BookingShortDto bookingShortDto = new BookingShortDto(booking.getId(), booking.getStart(),
+                booking.getEnd(), booking.getStatus(), booking.getItem().getId(), booking.getItem().getName(),
+                bookerId);
+        when(userExistence.exists(bookerId)).thenReturn(true);
+        when(bookingRepository.findShortByCriteria(any(BookingCriteria.class), eq(10L), eq(10)))
+                .thenReturn(Collections.singletonList(bookingShortDto));
+        List<BookingShortDto> bookings = bookingService.findAllShort(bookerId, "PAST", 10, 10);
+        assertEquals(List.of(bookingShortDto), bookings);
+        verify(bookingRepository, never()).findByCriteria(any(), anyLong(), anyInt());
+        assertThrows(BookingException.class,
+                () -> bookingService.findAllShort(bookerId, "UNKNOWN", 0, 10));
+    }
+
+    @Test
+    void findAllByCursorTest() {
+        long bookerId = booking.getBooker().getId();
+        when(userExistence.exists(bookerId)).thenReturn(true);
+        when(bookingRepository.findByCriteria(any(BookingCriteria.class), eq(0L), eq(1)))
+                .thenReturn(Collections.singletonList(booking));
+        CursorPage<BookingDto> page = bookingService.findAllByCursor(bookerId, "WAITING", "", 1);
+        assertEquals(1, page.getItems().size());
+        KeysetCursor next = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(booking.getStart(), next.getTime());
+        assertEquals(booking.getId(), next.getId());
+
+        bookingService.findAllByCursor(bookerId, "ALL", page.getNextCursor(), 1);
+        verify(bookingRepository).findByCriteria(argThat(criteria -> criteria.getState() == WAITING
+                && criteria.getBookerId() == bookerId && criteria.getAfterId() == null), eq(0L), eq(1));
+        verify(bookingRepository).findByCriteria(argThat(criteria -> criteria.getState() == Status.ALL
+                && booking.getId().equals(criteria.getAfterId())
+                && booking.getStart().equals(criteria.getAfterStart())), eq(0L), eq(1));
+
+        assertThrows(BookingException.class,
+                () -> bookingService.findAllByCursor(bookerId, "APPROVED", "", 1));
+    }
+
+    @Test
+    void findAllByCursorRejectsItemCursorTest() {
+        long bookerId = booking.getBooker().getId();
+        when(userExistence.exists(bookerId)).thenReturn(true);
+        String itemCursor = new KeysetCursor(null, 7L).encode();
+
+        assertThrows(CursorException.class, () -> bookingService.findAllByCursor(bookerId, "ALL", itemCursor, 1));
+        assertThrows(CursorException.class,
+                () -> bookingService.findAllShortByCursor(bookerId, "ALL", itemCursor, 1));
+        verify(bookingRepository, never()).findByCriteria(any(), anyLong(), anyInt());
+        verify(bookingRepository, never()).findShortByCriteria(any(), anyLong(), anyInt());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.AbstractQueryCountTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoSimple;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingServiceQueryCountTest extends AbstractQueryCountTest {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserExistenceService userExistence;
+
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking pastBooking;
+    private Booking futureBooking;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        User requestor = userRepository.save(new User(null, "requestor", "requestor@mail.ru"));
+        ItemRequest itemRequest = itemRequestRepository.save(new ItemRequest(null, "Нужна дрель",
+                requestor, LocalDateTime.now()));
+        item = itemRepository.save(new Item(null, "Дрель", "Аккумуляторная дрель", true, owner, itemRequest));
+        pastBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(5),
+                LocalDateTime.now().minusDays(2), item, booker, Status.APPROVED));
+        futureBooking = bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(5), item, booker, Status.WAITING));
+        userExistence.add(owner.getId());
+        userExistence.add(booker.getId());
+        statistics.clear();
+    }
+
+    @Test
+    void findByIdLoadsBookingDetailsWithOneStatementTest() throws Exception {
+        BookingDto booking = bookingService.findById(pastBooking.getId(), booker.getId());
+        objectMapper.writeValueAsString(booking);
+        assertCounts(1, 6);
+    }
+
+    @Test
+    void findAllLoadsBookingDetailsWithOneStatementPerPageTest() throws Exception {
+        List<BookingDto> bookings = bookingService.findAll(booker.getId(), "ALL", 0, 20);
+        objectMapper.writeValueAsString(bookings);
+        assertEquals(2, bookings.size());
+        assertCounts(1, 7);
+    }
+
+    @Test
+    void findAllShortLoadsNoEntitiesTest() throws Exception {
+        List<BookingShortDto> bookings = bookingService.findAllShort(booker.getId(), "ALL", 0, 20);
+        objectMapper.writeValueAsString(bookings);
+        assertEquals(2, bookings.size());
+        assertCounts(1, 0);
+    }
+
+    @Test
+    void findAllByItemOwnerIdLoadsBookingDetailsWithOneStatementTest() throws Exception {
+        List<BookingDto> bookings = bookingService.findAllByItemOwnerId(owner.getId(), "WAITING", 0, 20);
+        objectMapper.writeValueAsString(bookings);
+        assertEquals(1, bookings.size());
+        assertCounts(2, 6);
+    }
+
+    @Test
+    void saveLoadsItemDetailsWithOneStatementTest() throws Exception {
+        BookingDtoSimple bookingDtoSimple = new BookingDtoSimple(null, LocalDateTime.now().plusDays(10),
+                LocalDateTime.now().plusDays(12), item.getId());
+        BookingDto booking = bookingService.save(bookingDtoSimple, booker.getId());
+        objectMapper.writeValueAsString(booking);
+        assertCounts(2, 4);
+    }
+
+    @Test
+    void approveReusesLoadedDetailsTest() throws Exception {
+        BookingDto booking = bookingService.approve(owner.getId(), futureBooking.getId(), true);
+        objectMapper.writeValueAsString(booking);
+        assertEquals(Status.APPROVED, booking.getStatus());
+        assertCounts(3, 7);
+    }
+
+    @Test
+    void saveAllInsertsBookingsInJdbcBatchesTest() {
+        List<BookingDtoSimple> bookingDtoSimples = IntStream.range(0, 100)
+                .mapToObj(i -> new BookingDtoSimple(null, LocalDateTime.now().plusDays(10 + i),
+                        LocalDateTime.now().plusDays(11 + i), item.getId()))
+                .collect(Collectors.toList());
+        List<BookingDto> bookings = bookingService.saveAll(bookingDtoSimples, booker.getId());
+        assertEquals(100, bookings.size());
+        assertEquals(100, statistics.getEntityInsertCount());
+        // Вещи с деталями, до двух блоков id из последовательности и два пакета по 50 вставок
+        assertTrue(statistics.getPrepareStatementCount() <= 6, "prepared statements");
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.AbstractQueryCountTest;
+import ru.practicum.shareit.booking.dto.BookingDtoSimple;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.ItemException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SecondLevelCacheTest extends AbstractQueryCountTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        item = itemRepository.save(new Item(null, "Дрель", "Аккумуляторная дрель", true, owner, null));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(5),
+                LocalDateTime.now().minusDays(2), item, booker, Status.APPROVED));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(5), item, booker, Status.WAITING));
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void userLookupIsServedFromCacheTest() {
+        assertEquals(1, countStatements(() -> userService.findById(booker.getId())));
+        assertEquals(0, countStatements(() -> userService.findById(booker.getId())));
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updatedUserIsNotServedStaleTest() {
+        userService.findById(booker.getId());
+        userService.update(booker.getId(), new UserDto(null, "renamed", null));
+
+        assertEquals("renamed", userService.findById(booker.getId()).getName());
+    }
+
+    @Test
+    void userUpdateDoesNotRevertChangesMadeElsewhereTest() {
+        userService.findById(booker.getId());
+        jdbcTemplate.update("update users set email = 'moved@mail.ru' where user_id = ?", booker.getId());
+
+        userService.update(booker.getId(), new UserDto(null, "renamed", null));
+
+        assertEquals("moved@mail.ru", jdbcTemplate.queryForObject("select email from users where user_id = ?",
+                String.class, booker.getId()));
+    }
+
+    @Test
+    void itemUpdateDoesNotRevertChangesMadeElsewhereTest() {
+        itemRepository.findById(item.getId());
+        jdbcTemplate.update("update items set available = false where item_id = ?", item.getId());
+
+        itemService.update(owner.getId(), item.getId(), new ItemDto(null, "Перфоратор", null, null, null));
+
+        assertFalse(jdbcTemplate.queryForObject("select available from items where item_id = ?", Boolean.class,
+                item.getId()));
+        assertEquals("Перфоратор", itemRepository.findById(item.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void bookingChecksAvailabilityInDatabaseTest() {
+        itemRepository.findById(item.getId());
+        jdbcTemplate.update("update items set available = false where item_id = ?", item.getId());
+        assertTrue(itemRepository.findById(item.getId()).orElseThrow().getAvailable());
+
+        BookingDtoSimple booking = new BookingDtoSimple(null, LocalDateTime.now().plusDays(10),
+                LocalDateTime.now().plusDays(11), item.getId());
+        assertThrows(ItemException.class, () -> bookingService.save(booking, booker.getId()));
+    }
+
+    @Test
+    void cacheStatisticsAreExportedTest() {
+        userService.findById(booker.getId());
+        userService.findById(booker.getId());
+
+        double hits = meterRegistry.get("cache.gets")
+                .tags("cache", User.CACHE_REGION, "result", "hit")
+                .functionCounter()
+                .count();
+        assertTrue(hits >= 1);
+        meterRegistry.get("cache.evictions").tags("cache", User.CACHE_REGION).functionCounter();
+    }
+}
@@ -40,4 +40,12 @@ class ErrorHandlerTest {
         assertNotNull(response);
         assertEquals(response.getError(), exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleCursorException() {
+        CursorException exception = new CursorException("message");
+        ErrorResponse response = errorHandler.handleCursorException(exception);
+        assertNotNull(response);
+        assertEquals(response.getDescription(), exception.getMessage());
+    }
+}
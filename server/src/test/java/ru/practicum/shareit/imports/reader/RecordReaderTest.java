@@ -0,0 +1,98 @@
+package ru.practicum.shareit.imports.reader;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ImportException;
+import ru.practicum.shareit.imports.model.ImportFormat;
+import ru.practicum.shareit.imports.model.ImportRecord;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordReaderTest {
+
+    private static final int MAX_LINE_LENGTH = 100;
+
+    @Test
+    void csvQuotedFieldsTest() throws IOException {
+        List<ImportRecord> records = readAll(ImportFormat.CSV, "\uFEFFid,name,email\n"
+                + "1,\"Иванов, Иван\",ivan@mail.ru\n"
+                + "\n"
+                + "2,\"Пётр \"\"Первый\"\"\",petr@mail.ru\n");
+
+        assertEquals(2, records.size());
+        assertEquals(Map.of("id", "1", "name", "Иванов, Иван", "email", "ivan@mail.ru"), records.get(0).getFields());
+        assertEquals(2, records.get(0).getLine());
+        assertEquals("Пётр \"Первый\"", records.get(1).getFields().get("name"));
+        assertEquals(4, records.get(1).getLine());
+    }
+
+    @Test
+    void csvMalformedLinesAreReportedTest() throws IOException {
+        List<ImportRecord> records = readAll(ImportFormat.CSV, "id,name,email\n"
+                + "1,user\n"
+                + "2,\"user,user@mail.ru\n"
+                + "3,user,user@mail.ru\n");
+
+        assertEquals(3, records.size());
+        assertNotNull(records.get(0).getError());
+        assertNotNull(records.get(1).getError());
+        assertNull(records.get(2).getError());
+    }
+
+    @Test
+    void csvWithoutHeaderTest() {
+        assertThrows(ImportException.class, () -> readAll(ImportFormat.CSV, ""));
+    }
+
+    @Test
+    void ndjsonTest() throws IOException {
+        List<ImportRecord> records = readAll(ImportFormat.NDJSON, "{\"id\": 1, \"name\": \"Дрель\", "
+                + "\"available\": true, \"description\": null}\n"
+                + "\n"
+                + "{not json}\n"
+                + "[1, 2]\n");
+
+        assertEquals(3, records.size());
+        assertEquals(Map.of("id", "1", "name", "Дрель", "available", "true"), records.get(0).getFields());
+        assertNotNull(records.get(1).getError());
+        assertEquals(3, records.get(1).getLine());
+        assertNotNull(records.get(2).getError());
+    }
+
+    @Test
+    void tooLongLinesAreReportedAndSkippedTest() throws IOException {
+        String longName = "x".repeat(MAX_LINE_LENGTH);
+        List<ImportRecord> csv = readAll(ImportFormat.CSV, "id,name\r\n"
+                + "1," + longName + "\r\n"
+                + "2,user\r\n");
+        List<ImportRecord> ndjson = readAll(ImportFormat.NDJSON, "{\"id\": 1, \"name\": \"" + longName + "\"}\n"
+                + "{\"id\": 2, \"name\": \"user\"}");
+
+        for (List<ImportRecord> records : List.of(csv, ndjson)) {
+            assertEquals(2, records.size());
+            assertNotNull(records.get(0).getError());
+            assertEquals(Map.of("id", "2", "name", "user"), records.get(1).getFields());
+        }
+        assertEquals(3, csv.get(1).getLine());
+        assertEquals(2, ndjson.get(1).getLine());
+        assertThrows(ImportException.class, () -> readAll(ImportFormat.CSV, longName + ",id\n"));
+    }
+
+    private static List<ImportRecord> readAll(ImportFormat format, String text) throws IOException {
+        List<ImportRecord> records = new ArrayList<>();
+        try (RecordReader reader = RecordReader.open(format,
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), MAX_LINE_LENGTH)) {
+            ImportRecord record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
@@ -0,0 +1,240 @@
+package ru.practicum.shareit.imports.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.ImportException;
+import ru.practicum.shareit.exception.ImportLimitException;
+import ru.practicum.shareit.imports.dto.ImportError;
+import ru.practicum.shareit.imports.dto.ImportReport;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"shareit.import.chunk-size=3", "shareit.import.queue-capacity=1",
+        "shareit.import.max-active-imports=1"})
+class ImportServiceTest {
+
+    private static final String SOURCE = "partner";
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private UserExistenceService userExistence;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteAllInBatch();
+        itemRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        jdbcTemplate.update("delete from import_keys");
+    }
+
+    @Test
+    void importUsersItemsAndBookingsTest() {
+        userRepository.save(new User(null, "existing", "existing@mail.ru"));
+
+        ImportReport users = importCsv("users", "id,name,email\n"
+                + "u1,owner,owner@mail.ru\n"
+                + "u2,booker,booker@mail.ru\n"
+                + "u3,broken,not-an-email\n"
+                + "u4,existing,existing@mail.ru\n"
+                + "u5,,nameless@mail.ru\n");
+        assertEquals(5, users.getRead());
+        assertEquals(2, users.getImported());
+        assertEquals(List.of(4L, 5L, 6L), users.getErrors().stream().map(ImportError::getLine)
+                .sorted().collect(Collectors.toList()));
+        assertTrue(users.isFinished());
+
+        ImportReport items = importService.importData("items", SOURCE, "ndjson", stream(
+                "{\"id\": \"i1\", \"name\": \"Дрель\", \"description\": \"Ударная дрель\", \"available\": true, "
+                        + "\"ownerId\": \"u1\"}\n"
+                        + "{\"id\": \"i2\", \"name\": \"Пила\", \"description\": \"Пила\", \"available\": \"maybe\", "
+                        + "\"ownerId\": \"u1\"}\n"
+                        + "{\"id\": \"i3\", \"name\": \"Лестница\", \"description\": \"Лестница\", "
+                        + "\"available\": false, \"ownerId\": \"u9\"}\n"));
+        assertEquals(1, items.getImported());
+        assertEquals(2, items.getFailed());
+
+        ImportReport bookings = importCsv("bookings", "id,itemId,bookerId,start,end,status\n"
+                + "b1,i1,u2,2022-01-01T10:00:00,2022-01-02T10:00:00,\n"
+                + "b2,i1,u1,2022-02-01T10:00:00,2022-02-02T10:00:00,APPROVED\n"
+                + "b3,i1,u2,2022-03-02T10:00:00,2022-03-01T10:00:00,APPROVED\n"
+                + "b4,i2,u2,2022-04-01T10:00:00,2022-04-02T10:00:00,APPROVED\n"
+                + "b5,i1,u2,2022-05-01T10:00:00,2022-05-02T10:00:00,REJECTED\n");
+        assertEquals(2, bookings.getImported());
+        assertEquals(3, bookings.getFailed());
+
+        User owner = userRepository.findAll().stream()
+                .filter(user -> user.getEmail().equals("owner@mail.ru"))
+                .findFirst().orElseThrow();
+        User booker = userRepository.findAll().stream()
+                .filter(user -> user.getEmail().equals("booker@mail.ru"))
+                .findFirst().orElseThrow();
+        Item item = itemRepository.findAll().get(0);
+        assertEquals(owner.getId(), jdbcTemplate.queryForObject(
+                "select owner_id from items where item_id = ?", Long.class, item.getId()));
+        List<Booking> imported = bookingRepository.findAll();
+        assertEquals(2, imported.size());
+        assertTrue(imported.stream().allMatch(booking -> booking.getItem().getId().equals(item.getId())
+                && booking.getBooker().getId().equals(booker.getId())));
+        assertEquals(List.of(Status.APPROVED, Status.REJECTED), imported.stream().map(Booking::getStatus)
+                .sorted().collect(Collectors.toList()));
+        assertTrue(userExistence.exists(booker.getId()));
+        assertEquals(item.getId(), itemService.searchItem("дрель", 0, 10).get(0).getId());
+    }
+
+    @Test
+    void repeatedImportSkipsImportedRowsTest() {
+        String csv = "id,name,email\n"
+                + "u1,first,first@mail.ru\n"
+                + "u2,second,second@mail.ru\n"
+                + "u1,first again,again@mail.ru\n";
+
+        ImportReport first = importCsv("users", csv);
+        ImportReport second = importCsv("users", csv);
+
+        assertEquals(2, first.getImported());
+        assertEquals(1, first.getFailed());
+        assertEquals(0, second.getImported());
+        assertEquals(3, second.getFailed());
+        assertEquals(2, userRepository.count());
+    }
+
+    @Test
+    void idsDoNotClashWithEntitiesSavedByHibernateTest() {
+        importCsv("users", "id,name,email\nu1,imported,imported@mail.ru\n");
+        User saved = userRepository.save(new User(null, "saved", "saved@mail.ru"));
+        importCsv("users", "id,name,email\nu2,imported2,imported2@mail.ru\n");
+
+        assertEquals(3, userRepository.count());
+        assertEquals(3, userRepository.findAll().stream().map(User::getId).distinct().count());
+        assertTrue(userRepository.findById(saved.getId()).isPresent());
+    }
+
+    @Test
+    void largeFileIsStreamedInChunksTest() {
+        int rows = 3_000;
+        InputStream input = new GeneratedCsvStream(rows);
+
+        ImportReport report = importService.importData("users", SOURCE, "csv", input);
+
+        assertEquals(rows, report.getRead());
+        assertEquals(rows, report.getImported());
+        assertEquals(rows, userRepository.count());
+        assertTrue(importService.findActive().isEmpty());
+    }
+
+    @Test
+    void errorsAreCappedInReportTest() {
+        StringBuilder csv = new StringBuilder("id,name,email\n");
+        for (int i = 0; i < 150; i++) {
+            csv.append("u").append(i).append(",user,broken\n");
+        }
+
+        ImportReport report = importCsv("users", csv.toString());
+
+        assertEquals(150, report.getFailed());
+        assertEquals(100, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+    }
+
+    @Test
+    void importsAboveLimitAreRejectedTest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream blocked = new SequenceInputStream(stream("id,name,email\nu1,first,first@mail.ru\n"),
+                new InputStream() {
+                    @Override
+                    public int read() {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return -1;
+                    }
+                });
+        CompletableFuture<ImportReport> first = CompletableFuture.supplyAsync(
+                () -> importService.importData("users", SOURCE, "csv", blocked));
+        while (importService.findActive().isEmpty()) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        assertThrows(ImportLimitException.class, () -> importCsv("users", "id,name,email\n"));
+
+        release.countDown();
+        assertEquals(1, first.get(10, TimeUnit.SECONDS).getImported());
+        assertEquals(1, importCsv("users", "id,name,email\nu2,second,second@mail.ru\n").getImported());
+    }
+
+    @Test
+    void incorrectRequestTest() {
+        assertThrows(ImportException.class, () -> importService.importData("comments", SOURCE, "csv", stream("")));
+        assertThrows(ImportException.class, () -> importService.importData("users", SOURCE, "xml", stream("")));
+        assertThrows(ImportException.class, () -> importService.importData("users", " ", "csv", stream("")));
+        assertThrows(ImportException.class, () -> importService.importData("users", SOURCE, "csv", stream("")));
+    }
+
+    private ImportReport importCsv(String entity, String csv) {
+        return importService.importData(entity, SOURCE, "csv", stream(csv));
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class GeneratedCsvStream extends InputStream {
+        private final int rows;
+        private int row = -1;
+        private byte[] line = new byte[0];
+        private int position;
+
+        GeneratedCsvStream(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length) {
+                if (row == rows) {
+                    return -1;
+                }
+                String text = row < 0 ? "id,name,email\n" : "u" + row + ",user" + row + ",user" + row + "@mail.ru\n";
+                line = text.getBytes(StandardCharsets.UTF_8);
+                position = 0;
+                row++;
+            }
+            return line[position++] & 0xFF;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.imports.writer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CopyImportWriterTest {
+
+    @Test
+    void toCsvQuotesStringsAndLeavesNullsEmptyTest() {
+        String csv = CopyImportWriter.toCsv(List.of(
+                new Object[]{1L, "Дрель \"Bosch\", 18V", true, null},
+                new Object[]{2L, "", LocalDateTime.parse("2022-09-10T10:42:15"), 7L}));
+
+        assertEquals("1,\"Дрель \"\"Bosch\"\", 18V\",true,\n"
+                + "2,\"\",2022-09-10T10:42:15,7\n", csv);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.AbstractQueryCountTest;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class ItemControllerQueryCountTest extends AbstractQueryCountTest {
+
+    private static final long STATEMENTS_PER_PAGE = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private User owner;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+    }
+
+    @Test
+    void findAllIssuesConstantNumberOfStatementsTest() throws Exception {
+        createItemsWithHistory(1);
+        assertEquals(STATEMENTS_PER_PAGE, countStatementsForPage(1));
+
+        createItemsWithHistory(49);
+        assertEquals(STATEMENTS_PER_PAGE, countStatementsForPage(50));
+    }
+
+    private long countStatementsForPage(int expectedSize) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0")
+                        .param("size", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedSize))
+                .andExpect(jsonPath("$[0].lastBooking").isNotEmpty())
+                .andExpect(jsonPath("$[0].nextBooking").isNotEmpty())
+                .andExpect(jsonPath("$[0].comments.length()").value(1));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createItemsWithHistory(int count) {
+        for (int i = 0; i < count; i++) {
+            long suffix = System.nanoTime();
+            User booker = userRepository.save(new User(null, "booker" + suffix,
+                    "booker" + suffix + "@mail.ru"));
+            Item item = itemRepository.save(new Item(null, "item" + suffix, "description",
+                    true, owner, null));
+            bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(5),
+                    LocalDateTime.now().minusDays(2), item, booker, Status.APPROVED));
+            bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(2),
+                    LocalDateTime.now().plusDays(5), item, booker, Status.APPROVED));
+            commentRepository.save(new Comment(null, "Great", item, booker, LocalDateTime.now()));
+        }
+    }
+}
@@ -12,6 +12,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,4 +52,12 @@ class CommentRepositoryTest {
         assertEquals(1, comments.size());
         assertSame(comment, comments.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByItemIdIn() {
+        final List<Comment> comments = commentRepository.findAllByItemIdIn(Set.of(item.getId()));
+        assertNotNull(comments);
+        assertEquals(1, comments.size());
+        assertSame(comment, comments.get(0));
+    }
+}
@@ -5,7 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
@@ -14,6 +16,7 @@ import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,25 +53,14 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void search() {
-        final String text = item.getDescription().substring(0, 3);
-        final List<Item> items = itemRepository.search(text, Pageable.unpaged());
-        assertNotNull(items);
-        assertEquals(1, items.size());
-        assertEquals(item, items.get(0));
-
-        final String incorrectText = "incorrect";
-        final List<Item> emptyItems = itemRepository.search(incorrectText, Pageable.unpaged());
-        assertTrue(emptyItems.isEmpty());
-    }
-
-    @Test
-    void findAllByItemRequest_Id() {
-        final List<Item> items = itemRepository.findAllByItemRequestId(itemRequest.getId());
+    void findItemDtosByItemRequestIdIn() {
+        final List<ItemDto> items = itemRepository.findItemDtosByItemRequestIdIn(Set.of(itemRequest.getId(),
+                itemRequest.getId() + 1));
         assertSame(user2, itemRequest.getRequestor());
         assertNotNull(items);
         assertEquals(1, items.size());
-        assertSame(item, items.get(0));
+        assertEquals(new ItemDto(item.getId(), "item1", "description1", true, itemRequest.getId()),
+                items.get(0));
     }
 
     @Test
@@ -78,4 +70,26 @@ class ItemRepositoryTest {
         assertEquals(1, byOwner.size());
         assertSame(item, byOwner.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAvailableItemDtosByIdIn() {
+        final Item unavailable = itemRepository.save(new Item(2L, "item2", "description2",
+                false, user1, null));
+        final List<ItemDto> items = itemRepository
+                .findAvailableItemDtosByIdIn(List.of(item.getId(), unavailable.getId()));
+        assertNotNull(items);
+        assertEquals(1, items.size());
+        assertEquals(item.getId(), items.get(0).getId());
+        assertEquals(itemRequest.getId(), items.get(0).getRequestId());
+    }
+
+    @Test
+    void findByOwnerIdAndIdAfter() {
+        final Item item2 = itemRepository.save(new Item(2L, "item2", "description2",
+                true, user1, null));
+        final List<Item> items = itemRepository.findByOwnerIdAndIdAfter(user1.getId(), item.getId(),
+                PageRequest.of(0, 20));
+        assertNotNull(items);
+        assertEquals(List.of(item2), items);
+    }
+}
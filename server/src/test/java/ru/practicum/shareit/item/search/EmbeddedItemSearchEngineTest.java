@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class EmbeddedItemSearchEngineTest {
+
+    private ItemRepository itemRepository;
+    private EmbeddedItemSearchEngine searchEngine;
+    private Item drill;
+    private Item screwdriver;
+    private Item battery;
+    private final ItemMapper itemMapper = new ItemMapper();
+
+    @BeforeEach
+    void beforeEach() {
+        itemRepository = mock(ItemRepository.class);
+        searchEngine = new EmbeddedItemSearchEngine(itemRepository);
+        User owner = new User(1L, "user1", "user1@mail.ru");
+        drill = new Item(1L, "Дрель", "Аккумуляторная дрель", true, owner, null);
+        screwdriver = new Item(2L, "Отвертка", "Аккумуляторная отвертка", true, owner, null);
+        battery = new Item(3L, "Battery", "Battery for a drill", true, owner, null);
+        when(itemRepository.findAll()).thenReturn(List.of(drill, screwdriver, battery));
+        when(itemRepository.findAvailableItemDtosByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return List.of(drill, screwdriver, battery).stream()
+                    .filter(item -> ids.contains(item.getId()) && item.getAvailable())
+                    .map(itemMapper::toItemDto)
+                    .collect(Collectors.toList());
+        });
+        searchEngine.rebuild();
+    }
+
+    @Test
+    void searchByPrefixIgnoringCaseTest() {
+        List<ItemDto> items = searchEngine.search("оТверТ", PageRequest.of(0, 20));
+        assertEquals(List.of(itemMapper.toItemDto(screwdriver)), items);
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstTest() {
+        List<ItemDto> items = searchEngine.search("дрЕЛь", PageRequest.of(0, 20));
+        assertEquals(List.of(itemMapper.toItemDto(drill)), items);
+
+        List<ItemDto> englishItems = searchEngine.search("drill", PageRequest.of(0, 20));
+        assertEquals(List.of(itemMapper.toItemDto(battery)), englishItems);
+
+        List<ItemDto> rankedItems = searchEngine.search("аккУМУляторная", PageRequest.of(0, 20));
+        assertEquals(List.of(itemMapper.toItemDto(drill), itemMapper.toItemDto(screwdriver)), rankedItems);
+    }
+
+    @Test
+    void searchPagesResultsTest() {
+        List<ItemDto> items = searchEngine.search("аккумуляторная", PageRequest.of(1, 1));
+        assertEquals(List.of(itemMapper.toItemDto(screwdriver)), items);
+    }
+
+    @Test
+    void searchAfterUpdateAndRemoveTest() {
+        Item updated = new Item(1L, "Перфоратор", "Мощный перфоратор", true, drill.getOwner(), null);
+        searchEngine.index(updated);
+        assertTrue(searchEngine.search("дрель", PageRequest.of(0, 20)).isEmpty());
+
+        searchEngine.remove(screwdriver.getId());
+        assertTrue(searchEngine.search("отвертка", PageRequest.of(0, 20)).isEmpty());
+    }
+
+    @Test
+    void searchBlankTextTest() {
+        assertTrue(searchEngine.search("  ", PageRequest.of(0, 20)).isEmpty());
+        verify(itemRepository, never()).findAvailableItemDtosByIdIn(anyCollection());
+    }
+
+    @Test
+    void searchSkipsUnavailableItemsBeforePagingTest() {
+        drill.setAvailable(false);
+        searchEngine.index(drill);
+        List<ItemDto> items = searchEngine.search("аккумуляторная", PageRequest.of(0, 1));
+        assertEquals(List.of(itemMapper.toItemDto(screwdriver)), items);
+    }
+}
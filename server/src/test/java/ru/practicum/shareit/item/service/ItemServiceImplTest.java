@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
@@ -13,6 +16,10 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.view.ItemViewCache;
+import ru.practicum.shareit.item.view.ItemViewChangedEvent;
+import ru.practicum.shareit.item.view.ItemViewProperties;
 import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -23,6 +30,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +45,8 @@ class ItemServiceImplTest {
     private BookingRepository bookingRepository;
     private CommentRepository commentRepository;
     private CommentMapper commentMapper;
+    private ItemSearchEngine itemSearchEngine;
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     void beforeEach() {
@@ -45,12 +55,17 @@ class ItemServiceImplTest {
         bookingRepository = mock(BookingRepository.class);
         commentRepository = mock(CommentRepository.class);
         itemRequestRepository = mock(ItemRequestRepository.class);
+        itemSearchEngine = mock(ItemSearchEngine.class);
         itemMapper = new ItemMapper();
         BookingMapper bookingMapper = new BookingMapper();
         commentMapper = new CommentMapper();
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        ItemViewProperties itemViewProperties = new ItemViewProperties();
+        itemViewProperties.setEnabled(false);
         itemService = new ItemServiceImpl(itemRepository, itemMapper,
                 userRepository, bookingRepository, bookingMapper,
-                commentRepository, commentMapper, itemRequestRepository);
+                commentRepository, commentMapper, itemRequestRepository, itemSearchEngine,
+                new ItemViewCache(itemViewProperties, new SimpleMeterRegistry()), eventPublisher);
     }
 
     private Item createItem() {
@@ -71,9 +86,13 @@ class ItemServiceImplTest {
                 .thenReturn(Optional.of(item));
         when(itemRepository.findById(incorrectId))
                 .thenThrow(new StorageException("Вещи с Id = " + incorrectId + " нет в БД"));
+        when(bookingRepository.findNextBookingForItem(eq(itemId), any(), eq(PageRequest.of(0, 1))))
+                .thenReturn(Collections.singletonList(new BookingDtoForItem(2L, 2L)));
         ItemDtoWithBooking itemDtoWithBooking = itemService.findById(itemId, item.getOwner().getId());
         assertNotNull(itemDtoWithBooking);
         assertEquals("item1", itemDtoWithBooking.getName());
+        assertNull(itemDtoWithBooking.getLastBooking());
+        assertEquals(2L, itemDtoWithBooking.getNextBooking().getId());
         Throwable thrown = assertThrows(StorageException.class,
                 () -> itemService.findById(incorrectId, item.getOwner().getId()));
         assertNotNull(thrown.getMessage());
@@ -85,7 +104,7 @@ class ItemServiceImplTest {
         Item item = createItem();
         User userWriteComment = item.getItemRequest().getRequestor();
         Comment comment = createComment(item, userWriteComment);
-        when(commentRepository.findAllByItemId(item.getId()))
+        when(commentRepository.findAllByItemIdIn(Set.of(item.getId())))
                 .thenReturn(Collections.singletonList(comment));
         when(itemRepository.findByOwnerId(item.getOwner().getId(), PageRequest.of(0, 20)))
                 .thenReturn(Collections.singletonList(item));
@@ -94,8 +113,11 @@ class ItemServiceImplTest {
         assertNotNull(items);
         assertEquals(1, items.size());
         assertEquals(item.getName(), items.get(0).getName());
+        assertEquals(1, items.get(0).getComments().size());
         verify(itemRepository, times(1))
                 .findByOwnerId(item.getOwner().getId(), PageRequest.of(0, 20));
+        verify(commentRepository, times(1)).findAllByItemIdIn(Set.of(item.getId()));
+        verify(commentRepository, never()).findAllByItemId(anyLong());
     }
 
     @Test
@@ -113,6 +135,33 @@ class ItemServiceImplTest {
         assertEquals("description1", itemDto.getDescription());
         assertEquals(item.getId(), itemDto.getId());
         verify(itemRepository, times(1)).save(item);
+        verify(itemSearchEngine, times(1)).index(item);
+    }
+
+    @Test
+    void saveAllItemsTest() {
+        Item item = createItem();
+        long ownerId = item.getOwner().getId();
+        long requestId = item.getItemRequest().getId();
+        when(userRepository.findById(ownerId))
+                .thenReturn(Optional.of(item.getOwner()));
+        when(itemRequestRepository.findAllById(Set.of(requestId)))
+                .thenReturn(List.of(item.getItemRequest()));
+        when(itemRepository.saveAll(anyList()))
+                .thenReturn(List.of(item));
+        List<ItemDto> itemDtos = itemService.saveAll(ownerId, List.of(itemMapper.toItemDto(item)));
+        assertEquals(List.of(itemMapper.toItemDto(item)), itemDtos);
+        verify(itemRepository).saveAll(argThat(items -> {
+            Item saved = items.iterator().next();
+            return saved.getId() == null && saved.getOwner() == item.getOwner()
+                    && saved.getItemRequest() == item.getItemRequest();
+        }));
+        verify(itemSearchEngine, times(1)).index(item);
+
+        when(itemRequestRepository.findAllById(Set.of(requestId)))
+                .thenReturn(Collections.emptyList());
+        assertThrows(StorageException.class,
+                () -> itemService.saveAll(ownerId, List.of(itemMapper.toItemDto(item))));
     }
 
     @Test
@@ -140,6 +189,7 @@ class ItemServiceImplTest {
         assertEquals(userWriteComment.getName(), commentDto.getAuthorName());
         assertEquals(comment.getId(), commentDto.getId());
         verify(commentRepository, times(1)).save(any());
+        verify(eventPublisher, times(1)).publishEvent(ItemViewChangedEvent.of(item.getId()));
     }
 
     @Test
@@ -183,15 +233,16 @@ class ItemServiceImplTest {
         Item item2 = createItem();
         long itemId = item.getId();
         item2.setName("item2");
-        when(itemRepository.save(any(Item.class))).thenReturn(item2);
-        when(itemRepository.findById(itemId))
+        when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item2);
+        when(itemRepository.findForUpdateById(itemId))
                 .thenReturn(Optional.of(item));
         ItemDto itemDto = itemService.update(item.getOwner().getId(), itemId, itemMapper.toItemDto(item2));
         assertNotNull(itemDto);
         assertEquals("item2", itemDto.getName());
         assertEquals("description1", itemDto.getDescription());
         assertEquals(item.getId(), itemDto.getId());
-        verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemRepository, times(1)).saveAndFlush(any(Item.class));
+        verify(eventPublisher, times(1)).publishEvent(ItemViewChangedEvent.of(itemId));
     }
 
     @Test
@@ -199,20 +250,21 @@ class ItemServiceImplTest {
         Item item = createItem();
         itemService.deleteById(item.getId());
         verify(itemRepository, times(1)).deleteById(item.getId());
+        verify(itemSearchEngine, times(1)).remove(item.getId());
     }
 
     @Test
     void searchItemByTextTest() {
-        List<Item> items = new ArrayList<>();
+        List<ItemDto> items = new ArrayList<>();
         Item item = createItem();
-        items.add(item);
+        items.add(itemMapper.toItemDto(item));
         String text = item.getDescription().substring(0, 3);
-        when(itemRepository.search(text, PageRequest.of(0, 20))).thenReturn(items);
+        when(itemSearchEngine.search(text, PageRequest.of(0, 20))).thenReturn(items);
         List<ItemDto> itemDtos = itemService.searchItem(text, 0, 20);
         assertNotNull(itemDtos);
         assertEquals(1, itemDtos.size());
         assertEquals(item.getName(), itemDtos.get(0).getName());
-        verify(itemRepository, times(1))
+        verify(itemSearchEngine, times(1))
                 .search(text, PageRequest.of(0, 20));
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.AbstractQueryCountTest;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ItemServiceQueryCountTest extends AbstractQueryCountTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        User requestor = userRepository.save(new User(null, "requestor", "requestor@mail.ru"));
+        ItemRequest itemRequest = itemRequestRepository.save(new ItemRequest(null, "Нужна дрель",
+                requestor, LocalDateTime.now()));
+        item = itemRepository.save(new Item(null, "Дрель", "Аккумуляторная дрель", true, owner, itemRequest));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(5),
+                LocalDateTime.now().minusDays(2), item, booker, Status.APPROVED));
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(5), item, booker, Status.APPROVED));
+        commentRepository.save(new Comment(null, "Отличная дрель", item, booker, LocalDateTime.now()));
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void findByIdForOwnerDoesNotLoadAssociationsTest() throws Exception {
+        ItemDtoWithBooking itemDto = itemService.findById(item.getId(), owner.getId());
+        objectMapper.writeValueAsString(itemDto);
+        assertNotNull(itemDto.getLastBooking());
+        assertNotNull(itemDto.getNextBooking());
+        assertEquals(1, itemDto.getComments().size());
+        assertCounts(5, 3);
+    }
+
+    @Test
+    void findByIdServesRepeatedViewsFromCacheTest() {
+        itemService.findById(item.getId(), owner.getId());
+        itemService.findById(item.getId(), booker.getId());
+        statistics.clear();
+
+        assertEquals(itemService.findById(item.getId(), owner.getId()).getNextBooking().getId(),
+                itemService.findById(item.getId(), owner.getId()).getNextBooking().getId());
+        assertTrue(itemService.findById(item.getId(), booker.getId()).getComments().size() > 0);
+        assertCounts(0, 0);
+    }
+
+    @Test
+    void findByIdForOtherUserSkipsBookingsTest() throws Exception {
+        ItemDtoWithBooking itemDto = itemService.findById(item.getId(), booker.getId());
+        objectMapper.writeValueAsString(itemDto);
+        assertCounts(2, 3);
+    }
+
+    @Test
+    void updateDoesNotLoadOwnerOrRequestTest() throws Exception {
+        ItemDto itemDto = itemService.update(owner.getId(), item.getId(),
+                new ItemDto(null, "Перфоратор", null, null, null));
+        objectMapper.writeValueAsString(itemDto);
+        assertEquals(item.getItemRequest().getId(), itemDto.getRequestId());
+        assertCounts(2, 1);
+    }
+
+    @Test
+    void saveCommentLoadsOnlyItemAndAuthorTest() throws Exception {
+        CommentDto commentDto = itemService.saveComment(booker.getId(), item.getId(),
+                new CommentDto(null, "Спасибо", null, null));
+        objectMapper.writeValueAsString(commentDto);
+        assertEquals(booker.getName(), commentDto.getAuthorName());
+        assertCounts(4, 3);
+    }
+
+    @Test
+    void saveAllInsertsItemsInJdbcBatchesTest() {
+        List<ItemDto> itemDtos = IntStream.range(0, 100)
+                .mapToObj(i -> new ItemDto(null, "Дрель " + i, "Аккумуляторная дрель", true,
+                        item.getItemRequest().getId()))
+                .collect(Collectors.toList());
+        List<ItemDto> savedItems = itemService.saveAll(owner.getId(), itemDtos);
+        assertEquals(100, savedItems.size());
+        assertEquals(100, statistics.getEntityInsertCount());
+        // Владелец, запросы, до двух блоков id из последовательности и два пакета по 50 вставок
+        assertTrue(statistics.getPrepareStatementCount() <= 6, "prepared statements");
+    }
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.view;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDtoWithBooking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ItemViewCacheTest {
+
+    private ItemViewCache itemViewCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void beforeEach() {
+        itemViewCache = new ItemViewCache(new ItemViewProperties(), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void ownerAndOtherViewsAreCachedSeparatelyTest() {
+        ItemView ownerView = itemViewCache.get(1L, true, key -> load(null));
+        ItemView otherView = itemViewCache.get(1L, false, key -> load(null));
+
+        assertSame(ownerView, itemViewCache.get(1L, true, key -> load(null)));
+        assertSame(otherView, itemViewCache.get(1L, false, key -> load(null)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void changedEventInvalidatesOnlyThatItemTest() {
+        itemViewCache.get(1L, true, key -> load(null));
+        itemViewCache.get(1L, false, key -> load(null));
+        itemViewCache.get(2L, false, key -> load(null));
+
+        itemViewCache.onItemViewChanged(ItemViewChangedEvent.of(1L));
+        itemViewCache.get(1L, true, key -> load(null));
+        itemViewCache.get(1L, false, key -> load(null));
+        itemViewCache.get(2L, false, key -> load(null));
+        assertEquals(5, loads.get());
+
+        itemViewCache.onItemViewChanged(ItemViewChangedEvent.all());
+        itemViewCache.get(2L, false, key -> load(null));
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    void viewExpiresAtNextBookingBoundaryTest() throws Exception {
+        LocalDateTime boundary = LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(200));
+        itemViewCache.get(1L, true, key -> load(boundary));
+        itemViewCache.get(1L, true, key -> load(boundary));
+        assertEquals(1, loads.get());
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        itemViewCache.get(1L, true, key -> load(null));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void disabledCacheAlwaysLoadsTest() {
+        ItemViewProperties properties = new ItemViewProperties();
+        properties.setEnabled(false);
+        ItemViewCache disabled = new ItemViewCache(properties, new SimpleMeterRegistry());
+
+        disabled.get(1L, true, key -> load(null));
+        disabled.get(1L, true, key -> load(null));
+        assertEquals(2, loads.get());
+    }
+
+    private ItemView load(LocalDateTime expiresAt) {
+        loads.incrementAndGet();
+        return new ItemView(new ItemDtoWithBooking(1L, "Дрель", "Аккумуляторная дрель", true, null, null,
+                new ArrayList<>()), expiresAt);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item.view;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoSimple;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class ItemViewInvalidationTest {
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        item = itemRepository.save(new Item(null, "Дрель", "Аккумуляторная дрель", true, owner, null));
+    }
+
+    @AfterEach
+    void afterEach() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void newBookingRefreshesOwnerViewTest() {
+        assertNull(itemService.findById(item.getId(), owner.getId()).getNextBooking());
+
+        BookingDto booking = bookingService.save(new BookingDtoSimple(null, LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), item.getId()), booker.getId());
+
+        assertEquals(booking.getId(), itemService.findById(item.getId(), owner.getId()).getNextBooking().getId());
+    }
+
+    @Test
+    void itemUpdateAndCommentRefreshViewsTest() {
+        bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(3),
+                LocalDateTime.now().minusDays(1), item, booker, Status.APPROVED));
+        itemService.findById(item.getId(), booker.getId());
+
+        itemService.update(owner.getId(), item.getId(), new ItemDto(null, "Перфоратор", null, null, null));
+        assertEquals("Перфоратор", itemService.findById(item.getId(), booker.getId()).getName());
+
+        itemService.saveComment(booker.getId(), item.getId(), new CommentDto(null, "Спасибо", null, null));
+        assertEquals(1, itemService.findById(item.getId(), booker.getId()).getComments().size());
+
+        userService.update(booker.getId(), new UserDto(null, "renamed", null));
+        assertEquals("renamed", itemService.findById(item.getId(), booker.getId()).getComments().get(0)
+                .getAuthorName());
+    }
+
+    @Test
+    void ownerViewExpiresWhenBookingStartsTest() throws Exception {
+        bookingRepository.save(new Booking(null, LocalDateTime.now().plusSeconds(1),
+                LocalDateTime.now().plusDays(1), item, booker, Status.APPROVED));
+        assertEquals(booker.getId(), itemService.findById(item.getId(), owner.getId()).getNextBooking()
+                .getBookerId());
+
+        Thread.sleep(1500);
+
+        assertNull(itemService.findById(item.getId(), owner.getId()).getNextBooking());
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.CursorException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorTest {
+
+    @Test
+    void encodeAndDecodeTest() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.parse("2022-09-10T10:42:15.123"), 42L);
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+
+        KeysetCursor idCursor = new KeysetCursor(null, 7L);
+        assertEquals(idCursor, KeysetCursor.decode(idCursor.encode()));
+    }
+
+    @Test
+    void decodeEmptyCursorTest() {
+        assertTrue(KeysetCursor.decode("").isFirstPage());
+        assertTrue(KeysetCursor.decode(null).isFirstPage());
+    }
+
+    @Test
+    void decodeIncorrectCursorTest() {
+        assertThrows(CursorException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(CursorException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+
+    @Test
+    void decodeTimedCursorTest() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.parse("2022-09-10T10:42:15"), 42L);
+        assertEquals(cursor, KeysetCursor.decodeTimed(cursor.encode()));
+        assertTrue(KeysetCursor.decodeTimed("").isFirstPage());
+        assertThrows(CursorException.class, () -> KeysetCursor.decodeTimed(new KeysetCursor(null, 7L).encode()));
+    }
+
+    @Test
+    void cursorPageTest() {
+        CursorPage<Long> fullPage = CursorPage.of(List.of(1L, 2L), 2, id -> id * 10,
+                id -> new KeysetCursor(null, id));
+        assertEquals(List.of(10L, 20L), fullPage.getItems());
+        assertEquals(2L, KeysetCursor.decode(fullPage.getNextCursor()).getId());
+        assertEquals(fullPage.getNextCursor(),
+                fullPage.toResponseEntity().getHeaders().getFirst(CursorPage.NEXT_CURSOR_HEADER));
+
+        CursorPage<Long> lastPage = CursorPage.of(List.of(1L), 2, id -> id,
+                id -> new KeysetCursor(null, id));
+        assertNull(lastPage.getNextCursor());
+        assertFalse(lastPage.toResponseEntity().getHeaders().containsKey(CursorPage.NEXT_CURSOR_HEADER));
+    }
+}
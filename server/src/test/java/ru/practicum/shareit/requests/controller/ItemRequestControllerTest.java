@@ -11,7 +11,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.dto.ItemRequestDtoWithItems;
@@ -47,8 +46,7 @@ class ItemRequestControllerTest {
     @BeforeEach
     void beforeEach() {
         ItemRepository itemRepository = mock(ItemRepository.class);
-        ItemMapper itemMapper = mock(ItemMapper.class);
-        itemRequestMapper = new ItemRequestMapper(itemRepository, itemMapper);
+        itemRequestMapper = new ItemRequestMapper(itemRepository);
         mockMvc = MockMvcBuilders
                 .standaloneSetup(itemRequestController)
                 .build();
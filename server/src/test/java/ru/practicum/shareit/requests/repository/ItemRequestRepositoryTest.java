@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.requests.model.ItemRequest;
@@ -13,6 +14,7 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -63,4 +65,28 @@ class ItemRequestRepositoryTest {
         assertEquals(1, requests.size());
         assertSame(itemRequest, requests.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    void findOtherUsersRequestsByKeyset() {
+        final User user3 = userRepository.save(new User(3L, "user3", "user3@mail.ru"));
+        final LocalDateTime created = itemRequest.getCreated().plusMinutes(1).truncatedTo(ChronoUnit.SECONDS);
+        final ItemRequest first = itemRequestRepository.save(new ItemRequest(2L, "itemRequest2",
+                user3, created));
+        final ItemRequest second = itemRequestRepository.save(new ItemRequest(3L, "itemRequest3",
+                user3, created));
+
+        final List<ItemRequest> firstPage = itemRequestRepository
+                .findOtherUsersRequests(user2.getId(), PageRequest.of(0, 1));
+        assertEquals(List.of(first), firstPage);
+
+        final List<ItemRequest> secondPage = itemRequestRepository
+                .findOtherUsersRequestsAfter(user2.getId(), first.getCreated(), first.getId(),
+                        PageRequest.of(0, 1));
+        assertEquals(List.of(second), secondPage);
+
+        final List<ItemRequest> lastPage = itemRequestRepository
+                .findOtherUsersRequestsAfter(user2.getId(), second.getCreated(), second.getId(),
+                        PageRequest.of(0, 1));
+        assertTrue(lastPage.isEmpty());
+    }
+}
@@ -2,12 +2,14 @@ package ru.practicum.shareit.requests.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.CursorException;
 import ru.practicum.shareit.exception.StorageException;
-import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.CursorPage;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.requests.dto.ItemRequestDto;
 import ru.practicum.shareit.requests.dto.ItemRequestDtoWithItems;
 import ru.practicum.shareit.requests.dto.ItemRequestMapper;
@@ -15,11 +17,13 @@ import ru.practicum.shareit.requests.model.ItemRequest;
 import ru.practicum.shareit.requests.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserExistenceService;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -27,20 +31,22 @@ import static org.mockito.Mockito.*;
 class ItemRequestServiceImplTest {
 
     private ItemRequestRepository itemRequestRepository;
+    private ItemRepository itemRepository;
     private ItemRequestMapper itemRequestMapper;
     private UserRepository userRepository;
+    private UserExistenceService userExistence;
     private ItemRequestService itemRequestService;
     private ItemRequest itemRequest;
 
     @BeforeEach
     void beforeEach() {
         userRepository = mock(UserRepository.class);
+        userExistence = mock(UserExistenceService.class);
         itemRequestRepository = mock(ItemRequestRepository.class);
-        ItemRepository itemRepository = mock(ItemRepository.class);
-        ItemMapper itemMapper = mock(ItemMapper.class);
-        itemRequestMapper = new ItemRequestMapper(itemRepository, itemMapper);
+        itemRepository = mock(ItemRepository.class);
+        itemRequestMapper = new ItemRequestMapper(itemRepository);
         itemRequestService = new ItemRequestServiceImpl(itemRequestRepository,
-                itemRequestMapper, userRepository);
+                itemRequestMapper, userRepository, userExistence);
         itemRequest = createItemRequest();
     }
 
@@ -67,8 +73,7 @@ class ItemRequestServiceImplTest {
 
     @Test
     void findAllRequestsTest() {
-        when(userRepository.findById(itemRequest.getRequestor().getId()))
-                .thenReturn(Optional.of(itemRequest.getRequestor()));
+        when(userExistence.exists(itemRequest.getRequestor().getId())).thenReturn(true);
         when(itemRequestRepository
                 .findAllByRequestorIdOrderByCreatedDesc(itemRequest.getRequestor().getId()))
                 .thenReturn(Collections.singletonList(itemRequest));
@@ -81,11 +86,28 @@ class ItemRequestServiceImplTest {
                 .findAllByRequestorIdOrderByCreatedDesc(itemRequest.getRequestor().getId());
     }
 
+    @Test
+    void findAllRequestsLoadsItemsWithOneQueryTest() {
+        long userId = itemRequest.getRequestor().getId();
+        ItemRequest otherRequest = new ItemRequest(2L, "itemRequest2", itemRequest.getRequestor(),
+                LocalDateTime.now());
+        ItemDto answer = new ItemDto(1L, "item1", "description1", true, otherRequest.getId());
+        when(userExistence.exists(userId)).thenReturn(true);
+        when(itemRequestRepository.findAllByRequestorIdOrderByCreatedDesc(userId))
+                .thenReturn(List.of(itemRequest, otherRequest));
+        when(itemRepository.findItemDtosByItemRequestIdIn(Set.of(itemRequest.getId(), otherRequest.getId())))
+                .thenReturn(List.of(answer));
+        final List<ItemRequestDtoWithItems> itemRequestDtoWithItems = itemRequestService.findAll(userId);
+        assertEquals(2, itemRequestDtoWithItems.size());
+        assertTrue(itemRequestDtoWithItems.get(0).getItems().isEmpty());
+        assertEquals(List.of(answer), itemRequestDtoWithItems.get(1).getItems());
+        verify(itemRepository, times(1)).findItemDtosByItemRequestIdIn(anyCollection());
+    }
+
     @Test
     void findRequestByIdTest() {
         Long itemRequestId = itemRequest.getId();
-        when(userRepository.findById(itemRequest.getRequestor().getId()))
-                .thenReturn(Optional.of(itemRequest.getRequestor()));
+        when(userExistence.exists(itemRequest.getRequestor().getId())).thenReturn(true);
         long incorrectId = (long) (Math.random() * 100) + itemRequestId + 3;
         when(itemRequestRepository.findById(itemRequestId))
                 .thenReturn(Optional.of(itemRequest));
@@ -103,16 +125,50 @@ class ItemRequestServiceImplTest {
 
     @Test
     void findAllWithPageableRequestsTest() {
-        when(userRepository.findById(itemRequest.getRequestor().getId()))
-                .thenReturn(Optional.of(itemRequest.getRequestor()));
+        when(userExistence.exists(itemRequest.getRequestor().getId())).thenReturn(true);
         when(itemRequestRepository
-                .findAll(PageRequest.of(0, 20, Sort.by("created"))))
-                .thenReturn(Page.empty());
+                .findOtherUsersRequests(itemRequest.getRequestor().getId(), PageRequest.of(1, 20)))
+                .thenReturn(Collections.emptyList());
         final List<ItemRequestDtoWithItems> itemRequestDtoWithItems = itemRequestService
-                .findAllWithPageable(itemRequest.getRequestor().getId(), 0, 20);
+                .findAllWithPageable(itemRequest.getRequestor().getId(), 25, 20);
         assertNotNull(itemRequestDtoWithItems);
         assertTrue(itemRequestDtoWithItems.isEmpty());
         verify(itemRequestRepository, times(1))
-                .findAll(PageRequest.of(0, 20, Sort.by("created")));
+                .findOtherUsersRequests(itemRequest.getRequestor().getId(), PageRequest.of(1, 20));
+        verify(itemRequestRepository, never()).findAll(any(Pageable.class));
+
+        long unknownId = 99L;
+        assertThrows(StorageException.class, () -> itemRequestService.findAllWithPageable(unknownId, 0, 20));
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findAllByCursorRequestsTest() {
+        long userId = 1L;
+        when(userExistence.exists(userId)).thenReturn(true);
+        when(itemRequestRepository.findOtherUsersRequests(userId, PageRequest.of(0, 1)))
+                .thenReturn(List.of(itemRequest));
+        final CursorPage<ItemRequestDtoWithItems> firstPage = itemRequestService
+                .findAllByCursor(userId, "", 1);
+        assertEquals(1, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+
+        when(itemRequestRepository.findOtherUsersRequestsAfter(userId, itemRequest.getCreated(),
+                itemRequest.getId(), PageRequest.of(0, 1)))
+                .thenReturn(Collections.emptyList());
+        final CursorPage<ItemRequestDtoWithItems> lastPage = itemRequestService
+                .findAllByCursor(userId, firstPage.getNextCursor(), 1);
+        assertTrue(lastPage.getItems().isEmpty());
+        assertNull(lastPage.getNextCursor());
+    }
+
+    @Test
+    void findAllByCursorRejectsItemCursorTest() {
+        long userId = 1L;
+        when(userExistence.exists(userId)).thenReturn(true);
+
+        assertThrows(CursorException.class,
+                () -> itemRequestService.findAllByCursor(userId, new KeysetCursor(null, 7L).encode(), 1));
+        verify(itemRequestRepository, never()).findOtherUsersRequestsAfter(anyLong(), any(), anyLong(), any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package ru.practicum.shareit.requests.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.AbstractQueryCountTest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.requests.dto.ItemRequestDtoWithItems;
+import ru.practicum.shareit.requests.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserExistenceService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemRequestServiceQueryCountTest extends AbstractQueryCountTest {
+
+    private static final long STATEMENTS_PER_PAGE = 2;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private UserExistenceService userExistence;
+
+    private User owner;
+    private User requestor;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        requestor = userRepository.save(new User(null, "requestor", "requestor@mail.ru"));
+        userExistence.add(owner.getId());
+    }
+
+    @Test
+    void findAllByCursorIssuesConstantNumberOfStatementsTest() {
+        createAnsweredRequests(1);
+        assertEquals(STATEMENTS_PER_PAGE, countStatementsForPage(1));
+
+        createAnsweredRequests(49);
+        assertEquals(STATEMENTS_PER_PAGE, countStatementsForPage(50));
+    }
+
+    private long countStatementsForPage(int expectedSize) {
+        entityManagerFactory.getCache().evictAll();
+        return countStatements(() -> {
+            List<ItemRequestDtoWithItems> requests = itemRequestService
+                    .findAllByCursor(owner.getId(), "", 100).getItems();
+            assertEquals(expectedSize, requests.size());
+            requests.forEach(request -> assertEquals(2, request.getItems().size()));
+        });
+    }
+
+    private void createAnsweredRequests(int count) {
+        for (int i = 0; i < count; i++) {
+            ItemRequest itemRequest = itemRequestRepository.save(new ItemRequest(null, "request" + i,
+                    requestor, LocalDateTime.now()));
+            itemRepository.save(new Item(null, "item" + i, "description", true, owner, itemRequest));
+            itemRepository.save(new Item(null, "spare" + i, "description", false, owner, itemRequest));
+        }
+    }
+}
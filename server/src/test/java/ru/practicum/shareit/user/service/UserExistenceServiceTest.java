@@ -0,0 +1,110 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserExistenceServiceTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private UserRepository userRepository;
+    private UserExistenceService userExistence;
+
+    @BeforeEach
+    void beforeEach() {
+        userRepository = mock(UserRepository.class);
+        userExistence = new UserExistenceService(userRepository, new UserExistenceProperties(),
+                new SimpleMeterRegistry(), nanos::get);
+    }
+
+    @Test
+    void warmUpLoadsIdsInBatchesTest() {
+        List<Long> firstBatch = LongStream.rangeClosed(1, 10_000).boxed().collect(Collectors.toList());
+        when(userRepository.findIdsAfter(0L, PageRequest.of(0, 10_000))).thenReturn(firstBatch);
+        when(userRepository.findIdsAfter(10_000L, PageRequest.of(0, 10_000))).thenReturn(List.of(10_005L));
+
+        userExistence.warmUp();
+
+        assertEquals(10_001, userExistence.getKnownCount());
+        assertTrue(userExistence.exists(1L));
+        assertTrue(userExistence.exists(10_005L));
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void missFallsBackToQueryAndRemembersUserTest() {
+        when(userRepository.findIdsAfter(anyLong(), any())).thenReturn(Collections.emptyList());
+        userExistence.warmUp();
+        when(userRepository.existsById(5L)).thenReturn(true);
+
+        assertTrue(userExistence.exists(5L));
+        assertTrue(userExistence.exists(5L));
+        assertFalse(userExistence.exists(6L));
+        assertFalse(userExistence.exists(6L));
+        verify(userRepository, times(1)).existsById(5L);
+        verify(userRepository, times(2)).existsById(6L);
+    }
+
+    @Test
+    void addAndRemoveUpdateBitmapTest() {
+        userExistence.add(7L);
+        assertTrue(userExistence.exists(7L));
+
+        userExistence.remove(7L);
+        assertFalse(userExistence.exists(7L));
+        verify(userRepository, times(1)).existsById(7L);
+    }
+
+    @Test
+    void knownUsersAreRecheckedAfterTtlTest() {
+        when(userRepository.findIdsAfter(anyLong(), any())).thenReturn(List.of(3L));
+        userExistence.warmUp();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        assertTrue(userExistence.exists(3L));
+        verify(userRepository, never()).existsById(3L);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertFalse(userExistence.exists(3L));
+        verify(userRepository, times(1)).existsById(3L);
+    }
+
+    @Test
+    void idsOutsideIntRangeAlwaysQueryTest() {
+        long bigId = Integer.MAX_VALUE + 1L;
+        when(userRepository.existsById(bigId)).thenReturn(true);
+        userExistence.add(bigId);
+
+        assertTrue(userExistence.exists(bigId));
+        assertTrue(userExistence.exists(bigId));
+        assertEquals(0, userExistence.getKnownCount());
+        verify(userRepository, times(2)).existsById(bigId);
+    }
+
+    @Test
+    void tenMillionUsersFitInBitmapTest() {
+        long userCount = 10_000_000;
+        when(userRepository.findIdsAfter(anyLong(), any())).thenAnswer(invocation -> {
+            long lastId = invocation.getArgument(0);
+            return LongStream.rangeClosed(lastId + 1, Math.min(lastId + 10_000, userCount)).boxed()
+                    .collect(Collectors.toList());
+        });
+
+        userExistence.warmUp();
+
+        assertEquals(userCount, userExistence.getKnownCount());
+        assertEquals((userCount / Long.SIZE + 1) * Long.BYTES, userExistence.getMemoryFootprint());
+    }
+}
@@ -2,7 +2,9 @@ package ru.practicum.shareit.user.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import ru.practicum.shareit.exception.StorageException;
+import ru.practicum.shareit.item.view.ItemViewChangedEvent;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
@@ -20,12 +22,16 @@ class UserServiceImplTest {
     private UserService userService;
     private UserRepository userRepository;
     private UserMapper userMapper;
+    private ApplicationEventPublisher eventPublisher;
+    private UserExistenceService userExistence;
 
     @BeforeEach
     void beforeEach() {
         userRepository = mock(UserRepository.class);
         userMapper = new UserMapper();
-        userService = new UserServiceImpl(userRepository, userMapper);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        userExistence = mock(UserExistenceService.class);
+        userService = new UserServiceImpl(userRepository, userMapper, eventPublisher, userExistence);
     }
 
     private User createUser() {
@@ -74,6 +80,18 @@ class UserServiceImplTest {
         assertEquals("user@mail.ru", userDto.getEmail());
         assertEquals(user.getId(), userDto.getId());
         verify(userRepository, times(1)).save(user);
+        verify(userExistence, times(1)).add(user.getId());
+    }
+
+    @Test
+    void saveAllUsersTest() {
+        User user = createUser();
+        when(userRepository.saveAll(anyList()))
+                .thenReturn(List.of(user));
+        List<UserDto> userDtos = userService.saveAll(List.of(userMapper.toUserDto(user)));
+        assertEquals(List.of(userMapper.toUserDto(user)), userDtos);
+        verify(userRepository).saveAll(argThat(users -> users.iterator().next().getId() == null));
+        verify(userExistence, times(1)).add(user.getId());
     }
 
     @Test
@@ -82,15 +100,16 @@ class UserServiceImplTest {
         User user2 = createUser();
         long userId = user.getId();
         user2.setName("user2");
-        when(userRepository.save(any(User.class))).thenReturn(user2);
-        when(userRepository.findById(userId))
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user2);
+        when(userRepository.findForUpdateById(userId))
                 .thenReturn(Optional.of(user));
         UserDto userDto = userService.update(userId, userMapper.toUserDto(user2));
         assertNotNull(userDto);
         assertEquals("user2", userDto.getName());
         assertEquals("user@mail.ru", userDto.getEmail());
         assertEquals(user.getId(), userDto.getId());
-        verify(userRepository, times(1)).save(user2);
+        verify(userRepository, times(1)).saveAndFlush(user2);
+        verify(eventPublisher, times(1)).publishEvent(ItemViewChangedEvent.all());
     }
 
     @Test
@@ -98,5 +117,6 @@ class UserServiceImplTest {
         User user = createUser();
         userService.deleteById(user.getId());
         verify(userRepository, times(1)).deleteById(user.getId());
+        verify(userExistence, times(1)).remove(user.getId());
     }
 }
\ No newline at end of file
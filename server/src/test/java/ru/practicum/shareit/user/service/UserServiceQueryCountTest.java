@@ -0,0 +1,45 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.AbstractQueryCountTest;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserServiceQueryCountTest extends AbstractQueryCountTest {
+
+    private static final int BATCH_ROWS = 10_000;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserExistenceService userExistence;
+
+    @BeforeEach
+    void beforeEach() {
+        statistics.clear();
+    }
+
+    @Test
+    void saveAllInsertsTenThousandUsersInJdbcBatchesTest() {
+        List<UserDto> userDtos = IntStream.range(0, BATCH_ROWS)
+                .mapToObj(i -> new UserDto(i + 1_000_000L, "user" + i, "user" + i + "@mail.ru"))
+                .collect(Collectors.toList());
+
+        List<UserDto> savedUsers = userService.saveAll(userDtos);
+
+        assertEquals(BATCH_ROWS, savedUsers.size());
+        assertEquals(BATCH_ROWS, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        // По одному пакету вставок и одному блоку id на каждые 50 строк, без select для переданных id
+        assertTrue(statistics.getPrepareStatementCount() <= 2 * BATCH_ROWS / 50 + 1, "prepared statements");
+        assertTrue(userExistence.exists(savedUsers.get(BATCH_ROWS - 1).getId()));
+    }
+}
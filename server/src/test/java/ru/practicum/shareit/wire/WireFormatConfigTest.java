@@ -0,0 +1,111 @@
+package ru.practicum.shareit.wire;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WireFormatConfigTest {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private User owner;
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        for (int i = 0; i < 20; i++) {
+            User booker = userRepository.save(new User(null, "booker" + i, "booker" + i + "@mail.ru"));
+            Item item = itemRepository.save(new Item(null, "item" + i, "description", true, owner, null));
+            bookingRepository.save(new Booking(null, LocalDateTime.now().minusDays(5),
+                    LocalDateTime.now().minusDays(2), item, booker, Status.APPROVED));
+            bookingRepository.save(new Booking(null, LocalDateTime.now().plusDays(2),
+                    LocalDateTime.now().plusDays(5), item, booker, Status.APPROVED));
+            commentRepository.save(new Comment(null, "Great", item, booker, LocalDateTime.now()));
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void smileResponseMatchesJsonAndIsSmallerTest() throws Exception {
+        byte[] json = getItems(MediaType.APPLICATION_JSON).getResponse().getContentAsByteArray();
+        byte[] smile = getItems(APPLICATION_SMILE).getResponse().getContentAsByteArray();
+
+        JsonNode jsonTree = objectMapper.readTree(json);
+        assertEquals(20, jsonTree.size());
+        assertEquals(jsonTree, objectMapper.readTree(objectMapper.writeValueAsBytes(smileMapper.readTree(smile))));
+        assertTrue(smile.length < json.length, "smile " + smile.length + " >= json " + json.length);
+    }
+
+    @Test
+    void smileRequestBodyIsAcceptedTest() throws Exception {
+        UserDto userDto = new UserDto(null, "smile", "smile@mail.ru");
+        mockMvc.perform(post("/users")
+                        .contentType(APPLICATION_SMILE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(smileMapper.writeValueAsBytes(userDto)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    private MvcResult getItems(MediaType accept) throws Exception {
+        return mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .param("from", "0")
+                        .param("size", "100")
+                        .accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn();
+    }
+}